@@ -0,0 +1,153 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import uk.ac.nactem.tools.sentencesplitter.EnglishSentenceSplitter;
+import uk.ac.nactem.tools.sentencesplitter.SentenceSpans;
+
+/**
+ * The ways of splitting a document that both backends support. Subclasses
+ * choose the backend and the document sizes it is measured on, and call
+ * {@link #generate} from their setup.
+ */
+public abstract class BackendBenchmark {
+
+	/** Length of each document of the batch given to {@code splitAll} */
+	private static final int BATCH_DOCUMENT_SIZE = 4096;
+
+	protected EnglishSentenceSplitter splitter;
+
+	protected String text;
+
+	private char[] chars;
+
+	/** About as many characters as {@link #text}, in documents of a few kilobytes */
+	private List<String> documents;
+
+	private int batchLength;
+
+	private ExecutorService executor;
+
+	protected void generate(EnglishSentenceSplitter.Backend backend, int size, double abbreviationDensity) {
+		splitter = new EnglishSentenceSplitter(backend);
+		text = Corpus.generate(size, abbreviationDensity, 42);
+		chars = text.toCharArray();
+		documents = new ArrayList<String>();
+		batchLength = 0;
+		while (batchLength < size) {
+			String document = Corpus.generate(Math.min(size - batchLength, BATCH_DOCUMENT_SIZE), abbreviationDensity,
+					42 + documents.size());
+			documents.add(document);
+			batchLength += document.length();
+		}
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	@TearDown
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/** Characters and sentences processed, reported as rates */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+
+		public long characters;
+
+		public long sentences;
+
+		@Setup(Level.Iteration)
+		public void clear() {
+			characters = 0;
+			sentences = 0;
+		}
+
+		void count(int characters, int sentences) {
+			this.characters += characters;
+			this.sentences += sentences;
+		}
+	}
+
+	/** Reused between invocations on the same thread */
+	@State(Scope.Thread)
+	public static class Scratch {
+
+		final SentenceSpans spans = new SentenceSpans();
+	}
+
+	@Benchmark
+	public List<String> splitParagraph(Counters counters) {
+		List<String> sentences = splitter.splitParagraph(text);
+		counters.count(text.length(), sentences.size());
+		return sentences;
+	}
+
+	@Benchmark
+	public List<int[]> markupRawText(Counters counters) throws Exception {
+		List<int[]> sentences = splitter.markupRawText(text);
+		counters.count(text.length(), sentences.size());
+		return sentences;
+	}
+
+	@Benchmark
+	public SentenceSpans splitIntoSpans(Counters counters, Scratch scratch) {
+		scratch.spans.clear();
+		counters.count(text.length(), splitter.split(text, scratch.spans));
+		return scratch.spans;
+	}
+
+	@Benchmark
+	public SentenceSpans splitCharArray(Counters counters, Scratch scratch) {
+		scratch.spans.clear();
+		counters.count(chars.length, splitter.split(chars, 0, chars.length, scratch.spans));
+		return scratch.spans;
+	}
+
+	@Benchmark
+	public long sentenceStream(Counters counters) {
+		long sentences = splitter.sentences(text).count();
+		counters.count(text.length(), (int) sentences);
+		return sentences;
+	}
+
+	@Benchmark
+	public List<SentenceSpans> splitAll(Counters counters) throws InterruptedException {
+		List<SentenceSpans> results = splitter.splitAll(documents, executor);
+		int sentences = 0;
+		for (SentenceSpans spans : results) {
+			sentences += spans.size();
+		}
+		counters.count(batchLength, sentences);
+		return results;
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates English-like text with a given share of abbreviations, so that
+ * benchmarks can vary how many candidate boundaries are kept together.
+ */
+final class Corpus {
+
+	private static final String[] WORDS = { "the", "of", "and", "protein", "expression", "was", "in", "cells",
+			"we", "observed", "a", "significant", "increase", "levels", "after", "treatment", "with", "results",
+			"show", "that", "binding", "domain", "is", "required", "for", "activity", "patients", "study", "data",
+			"analysis", "response", "(n", "=", "12)", "model", "suggests", "these", "interactions", "are", "novel" };
+
+	private static final String[] ABBREVIATIONS = { "Dr.", "Fig.", "et", "al.", "e.g.", "Mr.", "etc.", "vs.",
+			"Ref.", "Prof.", "St.", "approx.", "U.S.A.", "No.", "Co.", "Jan.", "i.e." };
+
+	private static final String[] SENTENCE_STARTS = { "The", "We", "These", "In", "mRNA", "Our", "\"This",
+			"(The", "Results", "iPhone" };
+
+	private static final String[] SENTENCE_ENDS = { ".", ".", ".", ".", "?", "!", ".)", ".\"" };
+
+	private Corpus() {
+	}
+
+	/**
+	 * @param size
+	 *            number of characters to generate
+	 * @param abbreviationDensity
+	 *            share of words that are abbreviations
+	 */
+	static String generate(int size, double abbreviationDensity, long seed) {
+		Random random = new Random(seed);
+		StringBuilder text = new StringBuilder(size + 256);
+		int sentencesInParagraph = 0;
+		while (text.length() < size) {
+			text.append(SENTENCE_STARTS[random.nextInt(SENTENCE_STARTS.length)]);
+			int words = 6 + random.nextInt(25);
+			for (int i = 0; i < words; i++) {
+				text.append(' ');
+				if (random.nextDouble() < abbreviationDensity) {
+					text.append(ABBREVIATIONS[random.nextInt(ABBREVIATIONS.length)]);
+				} else {
+					text.append(WORDS[random.nextInt(WORDS.length)]);
+				}
+			}
+			text.append(SENTENCE_ENDS[random.nextInt(SENTENCE_ENDS.length)]);
+			if (++sentencesInParagraph > 2 + random.nextInt(6)) {
+				text.append("\n\n");
+				sentencesInParagraph = 0;
+			} else {
+				text.append(' ');
+			}
+		}
+		text.setLength(size);
+		return text.toString();
+	}
+}
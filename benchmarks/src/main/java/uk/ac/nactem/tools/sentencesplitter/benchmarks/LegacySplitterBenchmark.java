@@ -0,0 +1,61 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.nactem.tools.sentencesplitter.EnglishSentenceSplitter;
+
+/**
+ * Measures the legacy backend the way {@link SplitterBenchmark} measures the
+ * fast one. The legacy backend takes time quadratic in the length of a
+ * document, about 25 seconds a call at 1 MiB, so it is only measured on the
+ * smaller sizes. It cannot split a {@code Reader} or a document in parallel,
+ * so those are left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LegacySplitterBenchmark extends BackendBenchmark {
+
+	@Param({ "1024", "65536" })
+	public int size;
+
+	@Param({ "0.0", "0.05", "0.2" })
+	public double abbreviationDensity;
+
+	@Setup
+	public void generate() {
+		generate(EnglishSentenceSplitter.Backend.LEGACY, size, abbreviationDensity);
+	}
+}
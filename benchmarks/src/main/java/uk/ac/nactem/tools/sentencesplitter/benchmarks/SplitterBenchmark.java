@@ -0,0 +1,85 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.nactem.tools.sentencesplitter.EnglishSentenceSplitter;
+import uk.ac.nactem.tools.sentencesplitter.SentenceReader;
+import uk.ac.nactem.tools.sentencesplitter.SentenceSpans;
+
+/**
+ * Measures each way of splitting a document with the fast backend over a
+ * range of document sizes and abbreviation densities. In throughput mode the
+ * {@code characters} and {@code sentences} counters give characters and
+ * sentences per second; run with {@code -prof gc} for allocation rates.
+ * {@link LegacySplitterBenchmark} measures the legacy backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SplitterBenchmark extends BackendBenchmark {
+
+	@Param({ "1024", "65536", "1048576", "10485760" })
+	public int size;
+
+	@Param({ "0.0", "0.05", "0.2" })
+	public double abbreviationDensity;
+
+	@Setup
+	public void generate() {
+		generate(EnglishSentenceSplitter.Backend.FAST, size, abbreviationDensity);
+	}
+
+	@Benchmark
+	public long sentenceReader(Counters counters) throws IOException {
+		SentenceReader reader = new SentenceReader(splitter, new StringReader(text));
+		int sentences = 0;
+		while (reader.read() != null) {
+			sentences++;
+		}
+		reader.close();
+		counters.count(text.length(), sentences);
+		return sentences;
+	}
+
+	@Benchmark
+	public SentenceSpans splitParallel(Counters counters) {
+		SentenceSpans spans = splitter.splitParallel(text);
+		counters.count(text.length(), spans.size());
+		return spans;
+	}
+}
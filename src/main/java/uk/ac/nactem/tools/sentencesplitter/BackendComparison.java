@@ -0,0 +1,152 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the legacy and fast backends over the same documents and reports every
+ * sentence on which they disagree. Sentence indices and offsets are compared,
+ * as are the strings from
+ * {@link EnglishSentenceSplitter#splitParagraph(String)}; paragraph indices
+ * are not, since the legacy backend always reports paragraph 0.
+ * <p>
+ * From the command line, each file named is one document, directories are
+ * searched for files, and standard input is read when nothing is named. The
+ * exit status is 1 if any document differs.
+ */
+public class BackendComparison {
+
+	/** Longest piece of sentence text shown in a report */
+	private static final int EXCERPT = 80;
+
+	private final EnglishSentenceSplitter legacy = new EnglishSentenceSplitter(EnglishSentenceSplitter.Backend.LEGACY);
+
+	private final EnglishSentenceSplitter fast = new EnglishSentenceSplitter(EnglishSentenceSplitter.Backend.FAST);
+
+	private final PrintStream out;
+
+	private int documents;
+
+	private int differingDocuments;
+
+	private long sentences;
+
+	private long differences;
+
+	/**
+	 * @param out
+	 *            where differences are reported, one per line
+	 */
+	public BackendComparison(PrintStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * Splits {@code text} with both backends.
+	 *
+	 * @param document
+	 *            name of the document, for the report
+	 * @return the number of differences found
+	 */
+	public int compare(String document, String text) throws Exception {
+		List<int[]> expected = legacy.markupRawText(text);
+		List<int[]> actual = fast.markupRawText(text);
+		int found = 0;
+		for (int i = 0; i < Math.max(expected.size(), actual.size()); i++) {
+			int[] e = i < expected.size() ? expected.get(i) : null;
+			int[] a = i < actual.size() ? actual.get(i) : null;
+			if (e == null || a == null || e[1] != a[1] || e[2] != a[2] || e[3] != a[3]) {
+				out.println(document + "\tsentence " + i + "\tlegacy " + describe(e, text) + "\tfast "
+						+ describe(a, text));
+				found++;
+			}
+		}
+		List<String> expectedStrings = legacy.splitParagraph(text);
+		List<String> actualStrings = fast.splitParagraph(text);
+		for (int i = 0; i < Math.max(expectedStrings.size(), actualStrings.size()); i++) {
+			String e = i < expectedStrings.size() ? expectedStrings.get(i) : null;
+			String a = i < actualStrings.size() ? actualStrings.get(i) : null;
+			if (e == null || !e.equals(a)) {
+				out.println(document + "\tstring " + i + "\tlegacy " + quote(e) + "\tfast " + quote(a));
+				found++;
+			}
+		}
+		documents++;
+		sentences += expected.size();
+		differences += found;
+		if (found > 0) {
+			differingDocuments++;
+		}
+		return found;
+	}
+
+	/** Prints the totals so far */
+	public void summarise() {
+		out.println(documents + " documents, " + sentences + " sentences, " + differences + " differences in "
+				+ differingDocuments + " documents");
+	}
+
+	public boolean hasDifferences() {
+		return differences > 0;
+	}
+
+	private static String describe(int[] span, String text) {
+		if (span == null) {
+			return "none";
+		}
+		int end = Math.min(span[3], text.length());
+		int begin = Math.min(Math.max(span[2], 0), end);
+		return span[1] + ":" + span[2] + "-" + span[3] + " " + quote(text.substring(begin, end));
+	}
+
+	private static String quote(String s) {
+		if (s == null) {
+			return "none";
+		}
+		if (s.length() > EXCERPT) {
+			s = s.substring(0, EXCERPT) + "...";
+		}
+		return '"' + s.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t") + '"';
+	}
+
+	public static void main(String[] argv) throws Exception {
+		BackendComparison comparison = new BackendComparison(System.out);
+		if (argv.length == 0) {
+			comparison.compare("-", new String(DocumentFiles.read(System.in), StandardCharsets.UTF_8));
+		}
+		List<File> files = new ArrayList<File>();
+		for (String name : argv) {
+			DocumentFiles.collect(new File(name), files);
+		}
+		for (File file : files) {
+			String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			comparison.compare(file.getPath(), text);
+		}
+		comparison.summarise();
+		if (comparison.hasDifferences()) {
+			System.exit(1);
+		}
+	}
+}
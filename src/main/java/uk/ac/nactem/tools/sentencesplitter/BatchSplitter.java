@@ -0,0 +1,143 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits many documents on an {@link Executor}. Workers take documents from
+ * a shared queue, longest first, so that a few long documents do not end up
+ * queued behind each other on one worker while the others sit idle. Each
+ * worker takes one scanner for all the documents it splits, and the calling
+ * thread works alongside them.
+ */
+final class BatchSplitter {
+
+	private BatchSplitter() {
+	}
+
+	static List<SentenceSpans> split(final EnglishSentenceSplitter splitter, final SplitterConfig config,
+			final List<? extends CharSequence> documents, Executor executor, int workers)
+			throws InterruptedException {
+		final int n = documents.size();
+		final SentenceSpans[] results = new SentenceSpans[n];
+		final int[] order = longestFirst(documents);
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		int helpers = Math.min(workers, n) - 1;
+		/*
+		 * Only helpers that start while there is work are waited for, so the
+		 * call cannot stall on helpers the executor has no thread for, e.g.
+		 * when it is made from one of the executor's own threads.
+		 */
+		final Phaser running = new Phaser(1);
+		Runnable worker = new Runnable() {
+			public void run() {
+				BoundaryScanner scanner = splitter.acquireScanner(config);
+				try {
+					int i;
+					while ((i = next.getAndIncrement()) < n && failure.get() == null) {
+						int doc = order[i];
+						CharSequence text = documents.get(doc);
+						SentenceSpans spans = new SentenceSpans();
+						SplitEvent event = SplitEvent.start();
+						long started = splitter.startTime();
+						int candidates = -1;
+						if (splitter.backend() == EnglishSentenceSplitter.Backend.LEGACY) {
+							splitter.splitLegacy(config, text.toString(), spans);
+						} else {
+							scanner.reset(text, 0, text.length());
+							while (scanner.next()) {
+								spans.onSentence(scanner.paragraph(), scanner.index(), scanner.begin(), scanner.end());
+							}
+							candidates = scanner.candidates();
+						}
+						splitter.finished(config, event, started, String.valueOf(doc), text, text.length(),
+								spans.size(), candidates);
+						results[doc] = spans;
+					}
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				} finally {
+					scanner.release();
+				}
+			}
+		};
+		for (int w = 0; w < helpers; w++) {
+			final Runnable task = worker;
+			/*
+			 * A helper registers once it runs, so a rejected one has nothing to
+			 * deregister; its share of the documents is left to the workers
+			 * that did start, the calling thread among them.
+			 */
+			try {
+				executor.execute(new Runnable() {
+					public void run() {
+						if (running.register() > 0) {
+							/* The batch is over */
+							running.arriveAndDeregister();
+							return;
+						}
+						try {
+							task.run();
+						} finally {
+							running.arriveAndDeregister();
+						}
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				break;
+			}
+		}
+		worker.run();
+		running.awaitAdvanceInterruptibly(running.arrive());
+
+		Throwable t = failure.get();
+		if (t instanceof RuntimeException) {
+			throw (RuntimeException) t;
+		} else if (t instanceof Error) {
+			throw (Error) t;
+		} else if (t != null) {
+			throw new IllegalStateException(t);
+		}
+		return Arrays.asList(results);
+	}
+
+	/** Document indices, longest document first */
+	private static int[] longestFirst(List<? extends CharSequence> documents) {
+		int n = documents.size();
+		long[] keys = new long[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = ((long) documents.get(i).length() << 32) | i;
+		}
+		Arrays.sort(keys);
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = (int) keys[n - 1 - i];
+		}
+		return order;
+	}
+}
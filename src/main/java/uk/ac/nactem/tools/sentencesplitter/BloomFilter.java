@@ -0,0 +1,116 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.Collection;
+
+/**
+ * A Bloom filter over the lower case forms of the entries of a lexicon, so
+ * that most tokens that are not entries can be turned away without a lookup.
+ * Ten bits per entry and five probes give about one false positive in a
+ * hundred. The filter answers for a range of characters, as or in lower case,
+ * so it sits in front of both {@link Lexicon#contains(CharSequence, int, int)}
+ * and {@link Lexicon#containsFolded(CharSequence, int, int)}. Instances are
+ * not changed once built.
+ */
+final class BloomFilter {
+
+	private static final int BITS_PER_ENTRY = 10;
+
+	private static final int PROBES = 5;
+
+	private final long[] bits;
+
+	private final int mask;
+
+	private int maxLength;
+
+	BloomFilter(Collection<String> entries) {
+		this(entries.size());
+		for (String entry : entries) {
+			add(CompiledLexicon.hash(entry, 0, entry.length()), entry.length());
+		}
+	}
+
+	/** An empty filter with room for {@code entries} entries */
+	private BloomFilter(int entries) {
+		int size = 64;
+		while (size < BITS_PER_ENTRY * entries && size < 1 << 30) {
+			size <<= 1;
+		}
+		bits = new long[size >>> 6];
+		mask = size - 1;
+	}
+
+	/**
+	 * A filter over the entries of a prebuilt {@code lexicon}, or null if it
+	 * is of a kind whose entries cannot be listed
+	 */
+	static BloomFilter of(Lexicon lexicon) {
+		BloomFilter filter = new BloomFilter(lexicon.size());
+		if (lexicon instanceof MappedLexicon) {
+			((MappedLexicon) lexicon).fill(filter);
+		} else if (lexicon instanceof CompiledLexicon) {
+			((CompiledLexicon) lexicon).fill(filter);
+		} else if (lexicon instanceof DawgLexicon) {
+			((DawgLexicon) lexicon).fill(filter);
+		} else {
+			return null;
+		}
+		return filter;
+	}
+
+	/**
+	 * Adds an entry, given the {@link CompiledLexicon#hash(CharSequence, int, int)}
+	 * and length of its lower case form
+	 */
+	void add(int hash, int length) {
+		int h1 = mix(hash);
+		int h2 = mix(h1) | 1;
+		for (int i = 0; i < PROBES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			bits[bit >>> 6] |= 1L << bit;
+		}
+		maxLength = Math.max(maxLength, length);
+	}
+
+	/**
+	 * Whether the range, as it is or in lower case, may be an entry; false
+	 * means it certainly is not.
+	 */
+	boolean mightContain(CharSequence text, int start, int end) {
+		if (end - start > maxLength) {
+			return false;
+		}
+		int h1 = mix(CompiledLexicon.hash(text, start, end));
+		int h2 = mix(h1) | 1;
+		for (int i = 0; i < PROBES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			if ((bits[bit >>> 6] & 1L << bit) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int mix(int h) {
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 15);
+	}
+}
@@ -0,0 +1,841 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Single pass sentence boundary scanner.
+ * <p>
+ * The original splitter matched
+ * {@code (.*?)([\S&&[^-:=+'"(\[{]]+[.!?]["')\]}>]*)(\s+)(\S+)(.*)} against
+ * the rest of the paragraph, and rebuilt that rest after every candidate. Each
+ * candidate only ever depends on the whitespace delimited token that ends in
+ * $2 and the token $4 that follows it, so this class walks the text once,
+ * token by token, and keeps at most one candidate waiting for its following
+ * token. The decisions, and the sentences produced, are the same as before.
+ * <p>
+ * Whitespace is {@code \s} in the sense of {@link java.util.regex.Pattern},
+ * and sentences are trimmed in the sense of {@link String#trim()}, as they
+ * were by the original loop. A whitespace run holding two or more line breaks
+ * between tokens starts a new paragraph; a sentence belongs to the paragraph
+ * of its first token.
+ * <p>
+ * Protected phrases are applied on top: a candidate inside one of the
+ * {@link PhraseMatcher} phrases, or ending one, is kept, whatever the rules
+ * decide.
+ * <p>
+ * Text may also be pulled from a {@link Reader} into a buffer that only has to
+ * hold the sentence being scanned and the token after it.
+ * <p>
+ * Instances are not thread safe, but may be reused through
+ * {@link #reset(CharSequence, int, int)}; once warmed up, a scan allocates
+ * nothing.
+ */
+final class BoundaryScanner {
+
+	/** Candidate is split by RULE0: [.!?] followed by right bracketing */
+	private static final int RULE0 = 1;
+
+	/** Candidate is split by RULE1: [?!] followed by whitespace */
+	private static final int RULE1 = 2;
+
+	/** Candidate may be kept together by RULE2: a period */
+	private static final int PERIOD = 3;
+
+	/** The config the fields below come from */
+	private SplitterConfig config;
+
+	private Lexicon abbreviations;
+
+	private Lexicon lowerCaseTerms;
+
+	/** Null if there are no protected phrases */
+	private PhraseMatcher phrases;
+
+	/** Null unless lookups are prefiltered */
+	private BloomFilter abbreviationFilter;
+
+	private BloomFilter lowerCaseTermFilter;
+
+	private final CharArraySequence array = new CharArraySequence();
+
+	private CharSequence text;
+
+	/** Tokens starting at or after this offset are not part of the scan */
+	private int limit;
+
+	/** Offset up to which the text may be read to find the token after limit */
+	private int horizon;
+
+	/** Source of further text, or null once the text is all in view */
+	private Reader reader;
+
+	/** Characters read from {@link #reader} and dropped from the buffer */
+	private long origin;
+
+	private int position;
+
+	/** Start of $2 for the candidate waiting for its next token, or -1 */
+	private int candidateBegin;
+
+	private int candidateEnd;
+
+	private int candidateRule;
+
+	private int boundary;
+
+	private boolean trimmed;
+
+	/** Paragraph of the sentence ending at {@link #boundary} */
+	private int boundaryParagraph;
+
+	/** Paragraph breaks seen so far */
+	private int paragraphs;
+
+	private boolean seenToken;
+
+	/** Receives the start of each token that follows a paragraph break, if set */
+	private IntList breaks;
+
+	/** Receives the counts of each scan, if set */
+	private SplitterStatistics statistics;
+
+	/** Rule counts for the current scan, or null if not counting */
+	private int[] counts;
+
+	/** Candidates decided in the current scan */
+	private int candidates;
+
+	private int sentenceStart;
+
+	/** Paragraph of the sentence being accumulated, or -1 before its first token */
+	private int sentenceParagraph;
+
+	private int sentences;
+
+	private int begin;
+
+	private int end;
+
+	private int paragraph;
+
+	private int index;
+
+	private boolean finished;
+
+	private boolean blankTail;
+
+	BoundaryScanner(SplitterConfig config) {
+		use(config);
+	}
+
+	/**
+	 * Looks words up in the lexicons of {@code config} from the next scan on.
+	 * Only to be called between scans.
+	 */
+	BoundaryScanner use(SplitterConfig config) {
+		if (config != this.config) {
+			this.config = config;
+			this.abbreviations = config.abbreviations();
+			this.lowerCaseTerms = config.lowerCaseTerms();
+			this.phrases = config.phrases().size() == 0 ? null : config.phrases();
+			this.abbreviationFilter = config.abbreviationFilter();
+			this.lowerCaseTermFilter = config.lowerCaseTermFilter();
+		}
+		return this;
+	}
+
+	SplitterConfig config() {
+		return config;
+	}
+
+	/**
+	 * Prepares to scan {@code text} from {@code start} up to {@code limit}.
+	 */
+	BoundaryScanner reset(CharSequence text, int start, int limit) {
+		return reset(text, start, limit, limit);
+	}
+
+	/**
+	 * Prepares to scan the tokens of {@code text} that start between
+	 * {@code start} and {@code limit}, reading on up to {@code horizon} for the
+	 * token that decides the last candidate. This splits a region exactly as a
+	 * scan of the whole text would, provided {@code start} is the end of a
+	 * sentence in the whole text.
+	 */
+	BoundaryScanner reset(CharSequence text, int start, int limit, int horizon) {
+		this.text = text;
+		this.limit = limit;
+		this.horizon = horizon;
+		this.reader = null;
+		this.origin = 0;
+		this.position = start;
+		this.candidateBegin = -1;
+		this.paragraphs = 0;
+		this.seenToken = false;
+		this.breaks = null;
+		this.candidates = 0;
+		this.sentenceStart = start;
+		this.sentenceParagraph = -1;
+		this.sentences = 0;
+		this.finished = false;
+		this.blankTail = false;
+		return this;
+	}
+
+	/**
+	 * Prepares to scan {@code length} characters of {@code buf} from
+	 * {@code offset}, reporting offsets relative to {@code offset}.
+	 */
+	BoundaryScanner reset(char[] buf, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > buf.length - length) {
+			throw new IndexOutOfBoundsException();
+		}
+		return reset(array.wrap(buf, offset, length), 0, length);
+	}
+
+	/**
+	 * Prepares to scan everything {@code reader} supplies, starting with
+	 * {@code buf} as the buffer. The buffer grows if a sentence does not fit.
+	 * An {@link UncheckedIOException} from {@link #next()} wraps a read failure.
+	 */
+	BoundaryScanner reset(Reader reader, char[] buf) {
+		reset(array.wrap(buf, 0, buf.length), 0, 0);
+		this.reader = reader;
+		return this;
+	}
+
+	/**
+	 * Number of characters dropped from the front of the buffer, to be added
+	 * to the offsets of a scan from a {@link Reader}.
+	 */
+	long origin() {
+		return origin;
+	}
+
+	/** Copies out a range of the text being scanned */
+	String substring(int begin, int end) {
+		return text.subSequence(begin, end).toString();
+	}
+
+	/**
+	 * Whether the whole text scan would split between the token ending at
+	 * {@code tokenEnd} and the token starting at {@code nextBegin}. Only to be
+	 * called between scans.
+	 */
+	boolean splits(CharSequence text, int tokenBegin, int tokenEnd, int nextBegin, int nextEnd) {
+		this.text = text;
+		this.horizon = text.length();
+		try {
+			propose(tokenBegin, tokenEnd);
+			return candidateBegin >= 0 && decide(nextBegin, nextEnd);
+		} finally {
+			this.text = null;
+		}
+	}
+
+	/**
+	 * Finds the end of a token at or after {@code at} that is followed by a
+	 * paragraph break and ends a sentence, so that the text can be divided
+	 * there and the two regions scanned separately. Only to be called between
+	 * scans.
+	 *
+	 * @return the offset, or -1 if there is none between {@code at} and
+	 *         {@code to}
+	 */
+	int findParagraphCut(CharSequence text, int from, int at, int to) {
+		int i = at;
+		while (i < to) {
+			char c = text.charAt(i);
+			if (c != '\n' && c != '\r') {
+				i++;
+				continue;
+			}
+			/* The whitespace run around this line break */
+			int runBegin = i;
+			while (runBegin > from && isSpace(text.charAt(runBegin - 1))) {
+				runBegin--;
+			}
+			int lineBreaks = 0;
+			int runEnd = runBegin;
+			while (runEnd < to && isSpace(c = text.charAt(runEnd))) {
+				if (c == '\n' || (c == '\r' && (runEnd + 1 == to || text.charAt(runEnd + 1) != '\n'))) {
+					lineBreaks++;
+				}
+				runEnd++;
+			}
+			if (lineBreaks > 1 && runBegin > from && runEnd < to) {
+				int tokenBegin = runBegin;
+				while (tokenBegin > from && !isSpace(text.charAt(tokenBegin - 1))) {
+					tokenBegin--;
+				}
+				int nextEnd = runEnd;
+				while (nextEnd < to && !isSpace(text.charAt(nextEnd))) {
+					nextEnd++;
+				}
+				if (splits(text, tokenBegin, runBegin, runEnd, nextEnd)) {
+					return runBegin;
+				}
+			}
+			i = runEnd;
+		}
+		return -1;
+	}
+
+	/** Whether a scan has been started and not yet released */
+	boolean isBusy() {
+		return text != null;
+	}
+
+	/**
+	 * Counts decisions into {@code statistics} from now on, or stops counting
+	 * if it is null.
+	 */
+	BoundaryScanner count(SplitterStatistics statistics) {
+		this.statistics = statistics;
+		if (statistics == null) {
+			counts = null;
+		} else if (counts == null) {
+			counts = new int[SplitterStatistics.COUNTERS];
+		}
+		return this;
+	}
+
+	/** Number of candidates decided since the last reset */
+	int candidates() {
+		return candidates;
+	}
+
+	/** Forgets the text being scanned */
+	void release() {
+		flushCounts();
+		text = null;
+		reader = null;
+		array.wrap(null, 0, 0);
+	}
+
+	/** Adds the counts so far to the statistics and starts again from zero */
+	private void flushCounts() {
+		if (counts != null) {
+			statistics.add(counts);
+			Arrays.fill(counts, 0);
+		}
+	}
+
+	/**
+	 * Records the offset of the first token of each paragraph but the first,
+	 * for the current scan.
+	 */
+	void recordBreaks(IntList breaks) {
+		this.breaks = breaks;
+	}
+
+	/**
+	 * Moves to the next split point, returning false when there are none
+	 * left. Sentences are not assembled, so this cannot be mixed with
+	 * {@link #next()}.
+	 */
+	boolean nextBoundary() {
+		return advance();
+	}
+
+	/** Offset of the current split point */
+	int boundary() {
+		return boundary;
+	}
+
+	/**
+	 * Whether the sentence ending at the current split point has leading
+	 * blanks trimmed.
+	 */
+	boolean trimmed() {
+		return trimmed;
+	}
+
+	/**
+	 * Moves to the next sentence, returning false when there are none left.
+	 */
+	boolean next() {
+		if (finished) {
+			return false;
+		}
+		if (advance()) {
+			begin = trimmed ? skipBlank(sentenceStart, boundary) : sentenceStart;
+			end = boundary;
+			paragraph = boundaryParagraph;
+			index = sentences++;
+			sentenceStart = boundary;
+			return true;
+		}
+		/* Out of stops: finish off. */
+		finished = true;
+		begin = skipBlank(sentenceStart, limit);
+		end = skipBlankBack(text, begin, limit);
+		blankTail = begin == end && sentenceStart < limit;
+		paragraph = sentenceParagraph;
+		index = sentences;
+		return begin < end;
+	}
+
+	/** Number of paragraph breaks passed so far */
+	int paragraphs() {
+		return paragraphs;
+	}
+
+	/** Index of the paragraph holding the current sentence */
+	int paragraph() {
+		return paragraph;
+	}
+
+	/** Index of the current sentence, counting from the start of the scan */
+	int index() {
+		return index;
+	}
+
+	/** Offset of the first character of the current sentence */
+	int begin() {
+		return begin;
+	}
+
+	/** Offset just past the last character of the current sentence */
+	int end() {
+		return end;
+	}
+
+	/**
+	 * Whether the text ended in a non-empty remainder that trimmed to nothing,
+	 * for which the original splitter produced an empty sentence.
+	 */
+	boolean blankTail() {
+		return blankTail;
+	}
+
+	/**
+	 * Scans tokens until a candidate is split, leaving the split point in
+	 * {@link #boundary}.
+	 */
+	private boolean advance() {
+		if (reader != null && sentenceStart > array.length / 2) {
+			compact();
+		}
+		CharSequence text = this.text;
+		int i = position;
+		while (true) {
+			int lineBreaks = 0;
+			char c;
+			while ((i < horizon || fill()) && isSpace(c = text.charAt(i))) {
+				if (c == '\n' || (c == '\r' && ((i + 1 >= horizon && !fill()) || text.charAt(i + 1) != '\n'))) {
+					lineBreaks++;
+				}
+				i++;
+			}
+			if (i >= limit) {
+				/* Only look past the limit to decide the last candidate */
+				boolean split = false;
+				if (i < horizon && candidateBegin >= 0) {
+					int tokenBegin = i;
+					while (i < horizon && !isSpace(text.charAt(i))) {
+						i++;
+					}
+					split = decide(tokenBegin, i);
+					boundaryParagraph = sentenceParagraph;
+				}
+				position = limit;
+				horizon = limit;
+				candidateBegin = -1;
+				return split;
+			}
+			if (lineBreaks > 1 && seenToken) {
+				paragraphs++;
+				if (breaks != null) {
+					breaks.add(i);
+				}
+			}
+			seenToken = true;
+			int tokenBegin = i;
+			while ((i < horizon || fill()) && !isSpace(text.charAt(i))) {
+				i++;
+			}
+			boolean split = candidateBegin >= 0 && decide(tokenBegin, i);
+			if (split) {
+				boundaryParagraph = sentenceParagraph;
+				sentenceParagraph = paragraphs;
+			} else if (sentenceParagraph < 0) {
+				sentenceParagraph = paragraphs;
+			}
+			propose(tokenBegin, i);
+			if (split) {
+				position = i;
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Reads more text into the buffer, growing it if it is full. Offsets stay
+	 * valid, so this may be called in the middle of a token.
+	 */
+	private boolean fill() {
+		if (reader == null) {
+			return false;
+		}
+		if (limit == array.length) {
+			array.wrap(Arrays.copyOf(array.buf, 2 * array.length), 0, 2 * array.length);
+		}
+		try {
+			int n;
+			do {
+				n = reader.read(array.buf, limit, array.length - limit);
+			} while (n == 0);
+			if (n < 0) {
+				reader = null;
+				return false;
+			}
+			limit += n;
+			horizon = limit;
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Drops the buffered text before the current sentence. Only called between
+	 * sentences, when no offset into the dropped text is still in use. The
+	 * counts are flushed too, so that statistics keep up with a long read and
+	 * the counts of a single buffer cannot overflow.
+	 */
+	private void compact() {
+		flushCounts();
+		int shift = sentenceStart;
+		System.arraycopy(array.buf, shift, array.buf, 0, limit - shift);
+		origin += shift;
+		limit -= shift;
+		horizon = limit;
+		position -= shift;
+		sentenceStart = 0;
+		if (candidateBegin >= 0) {
+			candidateBegin -= shift;
+			candidateEnd -= shift;
+		}
+	}
+
+	/**
+	 * Decides the waiting candidate now that its next token ($4) is known.
+	 */
+	private boolean decide(int nextBegin, int nextEnd) {
+		candidates++;
+		if (counts != null) {
+			return countDecision(nextBegin, nextEnd);
+		}
+		/* Split if $4 is a lower-case term (e.g. "mRNA") */
+		/* Split if _rule0 */
+		/* Split if _rule1 */
+		if (isLowerCaseTerm(nextBegin, nextEnd) || candidateRule == RULE0
+				|| candidateRule == RULE1 || isEWord(nextBegin, nextEnd)) {
+			return split(nextEnd, false);
+		}
+
+		/* Don't split if _rule2 */
+		/* Don't split if $2 is in _abbreviations */
+		/* Otherwise split */
+		if (candidateRule == PERIOD && isLowerCaseLetter(nextBegin, nextEnd)) {
+			return false;
+		}
+		if (isAbbreviation()) {
+			return false;
+		}
+		return split(nextEnd, true);
+	}
+
+	/** Whether the token is a lower-case term, asking the prefilter first */
+	private boolean isLowerCaseTerm(int tokenBegin, int tokenEnd) {
+		if (lowerCaseTermFilter != null && !prefilter(lowerCaseTermFilter, tokenBegin, tokenEnd)) {
+			return false;
+		}
+		return checked(lowerCaseTermFilter, lowerCaseTerms.contains(text, tokenBegin, tokenEnd));
+	}
+
+	/** Whether the candidate is an abbreviation, asking the prefilter first */
+	private boolean isAbbreviation() {
+		if (abbreviationFilter != null && !prefilter(abbreviationFilter, candidateBegin, candidateEnd)) {
+			return false;
+		}
+		return checked(abbreviationFilter, abbreviations.containsFolded(text, candidateBegin, candidateEnd));
+	}
+
+	private boolean prefilter(BloomFilter filter, int begin, int end) {
+		boolean pass = filter.mightContain(text, begin, end);
+		if (counts != null) {
+			counts[SplitterStatistics.PREFILTER_QUERIES]++;
+			if (!pass) {
+				counts[SplitterStatistics.PREFILTER_SKIPS]++;
+			}
+		}
+		return pass;
+	}
+
+	/** Counts a lookup the prefilter let through in vain */
+	private boolean checked(BloomFilter filter, boolean found) {
+		if (filter != null && !found && counts != null) {
+			counts[SplitterStatistics.PREFILTER_FALSE_POSITIVES]++;
+		}
+		return found;
+	}
+
+	/** Splits after the candidate, unless a protected phrase spans it */
+	private boolean split(int nextEnd, boolean trimmed) {
+		if (phrases != null && isProtected(nextEnd)) {
+			return false;
+		}
+		boundary = candidateEnd;
+		this.trimmed = trimmed;
+		return true;
+	}
+
+	/**
+	 * Whether a protected phrase spans the whitespace between the candidate
+	 * and the next token, or ends with the candidate. Only the tokens that a
+	 * phrase that long could reach are matched; they are read from the text
+	 * rather than the scan, so the answer does not depend on where the scan
+	 * started. The tokens of a phrase are never split apart, so those before
+	 * the candidate are still in the text after a compaction.
+	 */
+	private boolean isProtected(int nextEnd) {
+		int reach = phrases.maxTokens() - 2;
+		int from = candidateBegin;
+		while (from > 0 && !isSpace(text.charAt(from - 1))) {
+			from--;
+		}
+		for (int k = 0; k <= reach && from > 0; k++) {
+			int i = from;
+			while (i > 0 && isSpace(text.charAt(i - 1))) {
+				i--;
+			}
+			if (i == 0) {
+				break;
+			}
+			while (i > 0 && !isSpace(text.charAt(i - 1))) {
+				i--;
+			}
+			from = i;
+		}
+		int to = nextEnd;
+		for (int k = 0; k < reach; k++) {
+			int i = to;
+			while ((i < horizon || fill()) && isSpace(text.charAt(i))) {
+				i++;
+			}
+			if (i >= horizon) {
+				break;
+			}
+			while ((i < horizon || fill()) && !isSpace(text.charAt(i))) {
+				i++;
+			}
+			to = i;
+		}
+		return phrases.protects(text, from, to, candidateEnd);
+	}
+
+	/**
+	 * Decides as {@link #decide(int, int)} does, counting the rule that
+	 * decided. Kept apart so that scans that do not count pay nothing.
+	 */
+	private boolean countDecision(int nextBegin, int nextEnd) {
+		counts[SplitterStatistics.CANDIDATES]++;
+		int rule;
+		if (isLowerCaseTerm(nextBegin, nextEnd)) {
+			rule = SplitterStatistics.LOWER_CASE_TERMS;
+		} else if (candidateRule == RULE0) {
+			rule = SplitterStatistics.RULE0;
+		} else if (candidateRule == RULE1) {
+			rule = SplitterStatistics.RULE1;
+		} else if (isEWord(nextBegin, nextEnd)) {
+			rule = SplitterStatistics.EWORDS;
+		} else if (candidateRule == PERIOD && isLowerCaseLetter(nextBegin, nextEnd)) {
+			counts[SplitterStatistics.RULE2]++;
+			return false;
+		} else if (isAbbreviation()) {
+			counts[SplitterStatistics.ABBREVIATIONS]++;
+			return false;
+		} else {
+			rule = SplitterStatistics.SPLITS;
+		}
+		if (!split(nextEnd, rule == SplitterStatistics.SPLITS)) {
+			counts[SplitterStatistics.PHRASES]++;
+			return false;
+		}
+		counts[rule]++;
+		return true;
+	}
+
+	/**
+	 * Makes the token a candidate if it could end a sentence, i.e. if some
+	 * suffix of it matches $2: at least one character that is neither
+	 * whitespace nor one of {@code -:=+'"([{}, then one of {@code .!?}, then
+	 * any right bracketing.
+	 */
+	private void propose(int tokenBegin, int tokenEnd) {
+		candidateBegin = -1;
+		int stop = tokenEnd;
+		while (stop > tokenBegin && isRightBracket(text.charAt(stop - 1))) {
+			stop--;
+		}
+		if (stop - tokenBegin < 2) {
+			return;
+		}
+		char c = text.charAt(stop - 1);
+		if (c == '.') {
+			candidateRule = stop < tokenEnd ? RULE0 : PERIOD;
+		} else if (c == '!' || c == '?') {
+			candidateRule = stop < tokenEnd ? RULE0 : RULE1;
+		} else {
+			return;
+		}
+		/* $1 is lazy, so $2 starts as early as it can */
+		int start = stop - 1;
+		while (start > tokenBegin && isCandidateChar(text.charAt(start - 1))) {
+			start--;
+		}
+		if (start < stop - 1) {
+			candidateBegin = start;
+			candidateEnd = tokenEnd;
+		}
+	}
+
+	/** Splitting is possible with eWords, e.g. eScience: [eim]\p{Upper}\p{Alpha}+ */
+	private boolean isEWord(int tokenBegin, int tokenEnd) {
+		if (tokenEnd - tokenBegin < 3) {
+			return false;
+		}
+		char c = text.charAt(tokenBegin);
+		if (c != 'e' && c != 'i' && c != 'm') {
+			return false;
+		}
+		c = text.charAt(tokenBegin + 1);
+		if (c < 'A' || c > 'Z') {
+			return false;
+		}
+		for (int i = tokenBegin + 2; i < tokenEnd; i++) {
+			c = text.charAt(i);
+			if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Whether the token starts with a \p{Ll} code point */
+	private boolean isLowerCaseLetter(int tokenBegin, int tokenEnd) {
+		char c = text.charAt(tokenBegin);
+		int codePoint = c;
+		if (Character.isHighSurrogate(c) && tokenBegin + 1 < tokenEnd) {
+			char low = text.charAt(tokenBegin + 1);
+			if (Character.isLowSurrogate(low)) {
+				codePoint = Character.toCodePoint(c, low);
+			}
+		}
+		return Character.getType(codePoint) == Character.LOWERCASE_LETTER;
+	}
+
+	private int skipBlank(int from, int to) {
+		return skipBlank(text, from, to);
+	}
+
+	/** Skips what {@link String#trim()} removes from the start of a range */
+	static int skipBlank(CharSequence text, int from, int to) {
+		while (from < to && text.charAt(from) <= ' ') {
+			from++;
+		}
+		return from;
+	}
+
+	/** Skips what {@link String#trim()} removes from the end of a range */
+	static int skipBlankBack(CharSequence text, int from, int to) {
+		while (to > from && text.charAt(to - 1) <= ' ') {
+			to--;
+		}
+		return to;
+	}
+
+	/** \s as understood by java.util.regex */
+	static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isRightBracket(char c) {
+		return c == '"' || c == '\'' || c == ')' || c == ']' || c == '}' || c == '>';
+	}
+
+	/** [\S&&[^-:=+'"(\[{]] */
+	private static boolean isCandidateChar(char c) {
+		switch (c) {
+		case '-':
+		case ':':
+		case '=':
+		case '+':
+		case '\'':
+		case '"':
+		case '(':
+		case '[':
+		case '{':
+			return false;
+		default:
+			return !isSpace(c);
+		}
+	}
+
+	/** Reusable view of a region of a char array */
+	private static final class CharArraySequence implements CharSequence {
+
+		private char[] buf;
+
+		private int offset;
+
+		private int length;
+
+		CharArraySequence wrap(char[] buf, int offset, int length) {
+			this.buf = buf;
+			this.offset = offset;
+			this.length = length;
+			return this;
+		}
+
+		public int length() {
+			return length;
+		}
+
+		public char charAt(int index) {
+			return buf[offset + index];
+		}
+
+		public CharSequence subSequence(int start, int end) {
+			return new String(buf, offset + start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return new String(buf, offset, length);
+		}
+	}
+}
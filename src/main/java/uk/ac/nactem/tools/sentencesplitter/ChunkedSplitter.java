@@ -0,0 +1,221 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits one large text on a {@link ForkJoinPool}.
+ * <p>
+ * The text is cut into chunks, at a paragraph break near each cut if there
+ * is one and otherwise wherever the cut falls, even inside a token. Each chunk
+ * is scanned speculatively, as though it began at a sentence boundary: it
+ * records the split points of the tokens starting inside it, reading one
+ * token past its end to decide its last candidate, and the paragraph breaks
+ * between those tokens. Split points do not depend on where sentences begin,
+ * so the only decisions that can be wrong are near the seams, and only a
+ * small window around each seam is re-checked:
+ * <ul>
+ * <li>a token cut in two is decided by the chunk it starts in, so the split
+ * point the next chunk found for its tail is dropped;</li>
+ * <li>a whitespace run at a seam is counted as a paragraph break by neither
+ * chunk, so it is counted again here.</li>
+ * </ul>
+ * Sentences are then assembled from the split points in one sequential pass,
+ * giving exactly the result of a single scan.
+ */
+final class ChunkedSplitter {
+
+	/** Texts are not cut into chunks shorter than this */
+	static final int MIN_CHUNK = 1 << 16;
+
+	/** Chunks to aim for per worker, to even out their lengths */
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	/** How far past a cut to look for a paragraph break to cut at instead */
+	private static final int PARAGRAPH_WINDOW = 1 << 12;
+
+	private ChunkedSplitter() {
+	}
+
+	static SentenceSpans split(final EnglishSentenceSplitter splitter, final SplitterConfig config,
+			CharSequence text, ForkJoinPool pool) {
+		return split(splitter, config, text, cuts(splitter.newScanner(config), text,
+				pool.getParallelism() * CHUNKS_PER_WORKER), pool);
+	}
+
+	/**
+	 * Splits {@code text} cut into chunks at the given offsets, which start
+	 * with 0, end with the length of the text and increase.
+	 */
+	static SentenceSpans split(final EnglishSentenceSplitter splitter, final SplitterConfig config,
+			final CharSequence text, int[] cuts, ForkJoinPool pool) {
+		List<ForkJoinTask<Chunk>> tasks = new ArrayList<ForkJoinTask<Chunk>>(cuts.length - 1);
+		for (int k = 0; k + 1 < cuts.length; k++) {
+			final int from = cuts[k];
+			final int to = cuts[k + 1];
+			tasks.add(pool.submit(new RecursiveTask<Chunk>() {
+				@Override
+				protected Chunk compute() {
+					return scan(splitter.acquireScanner(config), text, from, to);
+				}
+			}));
+		}
+		List<Chunk> chunks = new ArrayList<Chunk>(tasks.size());
+		for (ForkJoinTask<Chunk> task : tasks) {
+			chunks.add(task.join());
+		}
+		return assemble(text, cuts, chunks);
+	}
+
+	/**
+	 * Chooses offsets, starting with 0 and ending with the length of the text,
+	 * at which to cut the text into about {@code chunks} chunks.
+	 */
+	private static int[] cuts(BoundaryScanner scanner, CharSequence text, int chunks) {
+		int length = text.length();
+		int step = Math.max(length / Math.max(chunks, 1), MIN_CHUNK);
+		IntList cuts = new IntList();
+		cuts.add(0);
+		for (int at = step; at < length - MIN_CHUNK / 2; at += step) {
+			int cut = scanner.findParagraphCut(text, at, at, Math.min(at + PARAGRAPH_WINDOW, length));
+			cuts.add(cut < 0 ? at : cut);
+		}
+		cuts.add(length);
+		int[] result = new int[cuts.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = cuts.get(i);
+		}
+		return result;
+	}
+
+	private static Chunk scan(BoundaryScanner scanner, CharSequence text, int from, int to) {
+		Chunk chunk = new Chunk();
+		try {
+			scanner.reset(text, from, to, text.length());
+			scanner.recordBreaks(chunk.breaks);
+			while (scanner.nextBoundary()) {
+				chunk.boundaries.add(scanner.boundary());
+				chunk.boundaries.add(scanner.trimmed() ? 1 : 0);
+			}
+		} finally {
+			scanner.release();
+		}
+		return chunk;
+	}
+
+	/**
+	 * Repairs the seams and turns the split points of all chunks into
+	 * sentences.
+	 */
+	private static SentenceSpans assemble(CharSequence text, int[] cuts, List<Chunk> chunks) {
+		int length = text.length();
+		IntList breaks = new IntList();
+		int[] first = new int[chunks.size()];
+		for (int k = 0; k < chunks.size(); k++) {
+			Chunk chunk = chunks.get(k);
+			int cut = cuts[k];
+			if (k > 0) {
+				if (!BoundaryScanner.isSpace(text.charAt(cut - 1)) && !BoundaryScanner.isSpace(text.charAt(cut))) {
+					/* The token cut in two was decided by the chunk it starts in */
+					int tokenEnd = cut;
+					while (tokenEnd < length && !BoundaryScanner.isSpace(text.charAt(tokenEnd))) {
+						tokenEnd++;
+					}
+					if (chunk.boundaries.size() > 0 && chunk.boundaries.get(0) == tokenEnd) {
+						first[k] = 2;
+					}
+				} else {
+					int seamBreak = seamBreak(text, cut);
+					/* Several cuts may fall in the same whitespace run */
+					if (seamBreak >= 0 && (breaks.size() == 0 || breaks.get(breaks.size() - 1) != seamBreak)) {
+						breaks.add(seamBreak);
+					}
+				}
+			}
+			for (int i = 0; i < chunk.breaks.size(); i++) {
+				breaks.add(chunk.breaks.get(i));
+			}
+		}
+
+		SentenceSpans result = new SentenceSpans();
+		int start = 0;
+		int paragraph = 0;
+		int nextBreak = 0;
+		for (int k = 0; k < chunks.size(); k++) {
+			IntList boundaries = chunks.get(k).boundaries;
+			for (int i = first[k]; i < boundaries.size(); i += 2) {
+				int boundary = boundaries.get(i);
+				int begin = boundaries.get(i + 1) != 0 ? BoundaryScanner.skipBlank(text, start, boundary) : start;
+				result.onSentence(paragraph, result.size(), begin, boundary);
+				start = boundary;
+				/* The next sentence is in the paragraph of its first token */
+				int next = boundary;
+				while (next < length && BoundaryScanner.isSpace(text.charAt(next))) {
+					next++;
+				}
+				while (nextBreak < breaks.size() && breaks.get(nextBreak) <= next) {
+					nextBreak++;
+				}
+				paragraph = nextBreak;
+			}
+		}
+		/* Out of stops: finish off. */
+		int begin = BoundaryScanner.skipBlank(text, start, length);
+		int end = BoundaryScanner.skipBlankBack(text, begin, length);
+		if (begin < end) {
+			result.onSentence(paragraph, result.size(), begin, end);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the start of the token after the whitespace run at a seam if
+	 * that run is a paragraph break between two tokens, or -1.
+	 */
+	private static int seamBreak(CharSequence text, int cut) {
+		int length = text.length();
+		int runBegin = cut;
+		while (runBegin > 0 && BoundaryScanner.isSpace(text.charAt(runBegin - 1))) {
+			runBegin--;
+		}
+		int lineBreaks = 0;
+		int runEnd = runBegin;
+		char c;
+		while (runEnd < length && BoundaryScanner.isSpace(c = text.charAt(runEnd))) {
+			if (c == '\n' || (c == '\r' && (runEnd + 1 == length || text.charAt(runEnd + 1) != '\n'))) {
+				lineBreaks++;
+			}
+			runEnd++;
+		}
+		return lineBreaks > 1 && runBegin > 0 && runEnd < length ? runEnd : -1;
+	}
+
+	private static final class Chunk {
+
+		/** Pairs of split point and trimmed flag */
+		final IntList boundaries = new IntList();
+
+		final IntList breaks = new IntList();
+	}
+}
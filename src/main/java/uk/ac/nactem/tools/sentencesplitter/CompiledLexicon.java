@@ -0,0 +1,268 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A lexicon compiled into an open-addressing hash table keyed on the lower
+ * case form of each entry. Entries that differ only in case share a slot, so
+ * {@link #containsFolded(CharSequence, int, int)} finds a token or its lower
+ * case form with one hash of the characters and one probe sequence, and
+ * neither query allocates. Instances are immutable.
+ */
+public final class CompiledLexicon implements Lexicon {
+
+	private static final String[] NONE = new String[0];
+
+	private final int size;
+
+	private final int maxLength;
+
+	private final int mask;
+
+	private final int[] hashes;
+
+	/** Lower case form shared by the entries in each slot, or null if empty */
+	private final String[] keys;
+
+	/** Whether the key of each slot is itself an entry */
+	private final boolean[] keyIsEntry;
+
+	/** Entries in each slot other than the key */
+	private final String[][] variants;
+
+	public CompiledLexicon(Collection<String> entries) {
+		Set<String> distinct = new LinkedHashSet<String>(entries);
+		int longest = 0;
+		int capacity = 2;
+		while (capacity < 2 * distinct.size()) {
+			capacity <<= 1;
+		}
+		mask = capacity - 1;
+		hashes = new int[capacity];
+		keys = new String[capacity];
+		keyIsEntry = new boolean[capacity];
+		variants = new String[capacity][];
+		for (String entry : distinct) {
+			if (entry.length() > Character.MAX_VALUE) {
+				throw new IllegalArgumentException("Entry longer than " + (int) Character.MAX_VALUE + " characters");
+			}
+			String key = lowerCase(entry);
+			int hash = hash(entry, 0, entry.length());
+			int slot = spread(hash) & mask;
+			while (keys[slot] != null && !keys[slot].equals(key)) {
+				slot = (slot + 1) & mask;
+			}
+			if (keys[slot] == null) {
+				keys[slot] = key;
+				hashes[slot] = hash;
+				variants[slot] = NONE;
+			}
+			if (entry.equals(key)) {
+				keyIsEntry[slot] = true;
+			} else {
+				String[] others = Arrays.copyOf(variants[slot], variants[slot].length + 1);
+				others[others.length - 1] = entry;
+				variants[slot] = others;
+			}
+			longest = Math.max(longest, entry.length());
+		}
+		size = distinct.size();
+		maxLength = longest;
+	}
+
+	public boolean contains(CharSequence text, int start, int end) {
+		int slot = find(text, start, end);
+		if (slot < 0) {
+			return false;
+		}
+		if (keyIsEntry[slot] && same(keys[slot], text, start, end)) {
+			return true;
+		}
+		return isVariant(slot, text, start, end);
+	}
+
+	public boolean containsFolded(CharSequence text, int start, int end) {
+		int slot = find(text, start, end);
+		if (slot < 0) {
+			return false;
+		}
+		return keyIsEntry[slot] || isVariant(slot, text, start, end);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/** Adds the lower case form of every entry to {@code filter} */
+	void fill(BloomFilter filter) {
+		for (int slot = 0; slot <= mask; slot++) {
+			if (keys[slot] != null) {
+				filter.add(hashes[slot], keys[slot].length());
+			}
+		}
+	}
+
+	/**
+	 * Writes the table in the format read by {@link MappedLexicon}: a header,
+	 * the file offset of each slot's record or -1, then the records.
+	 */
+	void write(DataOutputStream out) throws IOException {
+		int capacity = mask + 1;
+		out.writeInt(MappedLexicon.MAGIC);
+		out.writeInt(MappedLexicon.VERSION);
+		out.writeInt(size);
+		out.writeInt(maxLength);
+		out.writeInt(capacity);
+		long offset = MappedLexicon.HEADER + 4L * capacity;
+		for (int slot = 0; slot < capacity; slot++) {
+			if (keys[slot] == null) {
+				out.writeInt(-1);
+			} else {
+				out.writeInt((int) offset);
+				offset += recordLength(slot);
+				if (offset > Integer.MAX_VALUE) {
+					throw new IOException("Lexicon too large for the binary format");
+				}
+			}
+		}
+		for (int slot = 0; slot < capacity; slot++) {
+			if (keys[slot] != null) {
+				out.writeInt(hashes[slot]);
+				out.writeChar(keys[slot].length());
+				out.writeChar(variants[slot].length);
+				out.writeByte(keyIsEntry[slot] ? 1 : 0);
+				out.writeChars(keys[slot]);
+				for (String variant : variants[slot]) {
+					out.writeChar(variant.length());
+					out.writeChars(variant);
+				}
+			}
+		}
+	}
+
+	private long recordLength(int slot) {
+		long length = MappedLexicon.RECORD_HEADER + 2L * keys[slot].length();
+		for (String variant : variants[slot]) {
+			length += 2 + 2L * variant.length();
+		}
+		return length;
+	}
+
+	/** Returns the slot whose key is the range in lower case, or -1 */
+	private int find(CharSequence text, int start, int end) {
+		if (end - start > maxLength) {
+			return -1;
+		}
+		int hash = hash(text, start, end);
+		for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && sameFolded(keys[slot], text, start, end)) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	private boolean isVariant(int slot, CharSequence text, int start, int end) {
+		for (String variant : variants[slot]) {
+			if (same(variant, text, start, end)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean same(String s, CharSequence text, int start, int end) {
+		if (s.length() != end - start) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			if (s.charAt(i - start) != text.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean sameFolded(String key, CharSequence text, int start, int end) {
+		if (key.length() != end - start) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			if (key.charAt(i - start) != lowerCase(text, i, start, end)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Hash of the lower case form of a range */
+	static int hash(CharSequence text, int start, int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + lowerCase(text, i, start, end);
+		}
+		return h;
+	}
+
+	static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	static String lowerCase(String s) {
+		char[] chars = new char[s.length()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = lowerCase(s, i, 0, chars.length);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Lower-cases the character at {@code index} the way String.toLowerCase()
+	 * does for the lexicon entries in use, one character for one; a dotted
+	 * capital I, which String lower-cases to two characters, is left alone.
+	 */
+	static char lowerCase(CharSequence text, int index, int start, int end) {
+		char c = text.charAt(index);
+		if (c < 128) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+		}
+		if (c == '\u0130') {
+			return c;
+		}
+		if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(text.charAt(index + 1))) {
+			int codePoint = Character.toLowerCase(Character.toCodePoint(c, text.charAt(index + 1)));
+			return Character.isSupplementaryCodePoint(codePoint) ? Character.highSurrogate(codePoint) : c;
+		}
+		if (Character.isLowSurrogate(c) && index > start) {
+			char high = text.charAt(index - 1);
+			if (Character.isHighSurrogate(high)) {
+				int codePoint = Character.toLowerCase(Character.toCodePoint(high, c));
+				return Character.isSupplementaryCodePoint(codePoint) ? Character.lowSurrogate(codePoint) : c;
+			}
+		}
+		return Character.toLowerCase(c);
+	}
+}
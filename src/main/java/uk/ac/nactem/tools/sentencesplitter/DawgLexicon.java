@@ -0,0 +1,294 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lexicon stored as a minimal acyclic automaton (a DAWG): entries sharing a
+ * prefix share its arcs, and entries sharing a suffix share the states it
+ * leads through, so large lists of similar entries, such as gene symbols,
+ * take a few bytes per entry. Each arc takes six bytes, a character and an
+ * int, in two flat arrays. Lookups walk the automaton over the characters of
+ * the range, so they allocate nothing, and a folded lookup makes a second walk
+ * over the range in lower case. The empty string is never an entry. Instances
+ * are immutable.
+ */
+public final class DawgLexicon implements Lexicon {
+
+	/** Set on the last arc leaving a state */
+	private static final int LAST = 1 << 31;
+
+	/** Set on an arc that ends an entry */
+	private static final int FINAL = 1 << 30;
+
+	private static final int TARGET = FINAL - 1;
+
+	private final int size;
+
+	/** First arc of the start state, or 0 if it has none */
+	private final int root;
+
+	private final char[] labels;
+
+	/**
+	 * First arc of the state each arc leads to, or 0 if it has none, with the
+	 * flags above
+	 */
+	private final int[] arcs;
+
+	public DawgLexicon(Collection<String> entries) {
+		List<String> sorted = new ArrayList<String>(entries);
+		Collections.sort(sorted);
+		Builder builder = new Builder();
+		String previous = "";
+		int distinct = 0;
+		for (String entry : sorted) {
+			if (entry.length() > 0 && !entry.equals(previous)) {
+				builder.add(previous, entry);
+				previous = entry;
+				distinct++;
+			}
+		}
+		size = distinct;
+		root = builder.finish(previous);
+		labels = Arrays.copyOf(builder.labels, builder.count);
+		arcs = Arrays.copyOf(builder.arcs, builder.count);
+	}
+
+	public boolean contains(CharSequence text, int start, int end) {
+		int state = root;
+		for (int i = start; i < end; i++) {
+			int arc = find(state, text.charAt(i));
+			if (arc < 0) {
+				return false;
+			}
+			if (i == end - 1) {
+				return (arcs[arc] & FINAL) != 0;
+			}
+			state = arcs[arc] & TARGET;
+		}
+		return false;
+	}
+
+	public boolean containsFolded(CharSequence text, int start, int end) {
+		if (contains(text, start, end)) {
+			return true;
+		}
+		int state = root;
+		for (int i = start; i < end; i++) {
+			int arc = find(state, CompiledLexicon.lowerCase(text, i, start, end));
+			if (arc < 0) {
+				return false;
+			}
+			if (i == end - 1) {
+				return (arcs[arc] & FINAL) != 0;
+			}
+			state = arcs[arc] & TARGET;
+		}
+		return false;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/** Number of arcs, for sizing: each takes six bytes */
+	public int arcs() {
+		return arcs.length - 1;
+	}
+
+	/** Adds every entry to {@code filter}, walking the automaton depth first */
+	void fill(BloomFilter filter) {
+		if (root == 0) {
+			return;
+		}
+		StringBuilder entry = new StringBuilder();
+		/* The arc taken at each depth of the walk */
+		int[] path = new int[16];
+		int arc = root;
+		while (true) {
+			if (entry.length() == path.length) {
+				path = Arrays.copyOf(path, 2 * path.length);
+			}
+			path[entry.length()] = arc;
+			entry.append(labels[arc]);
+			if ((arcs[arc] & FINAL) != 0) {
+				filter.add(CompiledLexicon.hash(entry, 0, entry.length()), entry.length());
+			}
+			int target = arcs[arc] & TARGET;
+			if (target != 0) {
+				arc = target;
+				continue;
+			}
+			/* Back up to the nearest arc with a sibling */
+			while ((arcs[arc] & LAST) != 0) {
+				entry.setLength(entry.length() - 1);
+				if (entry.length() == 0) {
+					return;
+				}
+				arc = path[entry.length() - 1];
+			}
+			entry.setLength(entry.length() - 1);
+			arc++;
+		}
+	}
+
+	/** Returns the arc labelled {@code c} leaving {@code state}, or -1 */
+	private int find(int state, char c) {
+		if (state == 0) {
+			return -1;
+		}
+		for (int arc = state;; arc++) {
+			char label = labels[arc];
+			if (label == c) {
+				return arc;
+			}
+			if (label > c || (arcs[arc] & LAST) != 0) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Builds the automaton from sorted entries, one at a time, as described by
+	 * Daciuk et al. (2000): the states on the path of the previous entry are
+	 * still open, and once the next entry leaves that path they can no longer
+	 * change, so each is replaced by an identical state already built, or
+	 * written out as a new one.
+	 */
+	private static final class Builder {
+
+		/** Arc 0 is unused, so that 0 can mean a state without arcs */
+		char[] labels = new char[1024];
+
+		int[] arcs = new int[1024];
+
+		int count = 1;
+
+		/** States written out so far, by their arcs */
+		private final Map<String, Integer> register = new HashMap<String, Integer>();
+
+		/** The open states, on the path of the previous entry */
+		private final List<OpenState> path = new ArrayList<OpenState>();
+
+		private final StringBuilder key = new StringBuilder();
+
+		Builder() {
+			path.add(new OpenState());
+		}
+
+		void add(String previous, String entry) {
+			int common = 0;
+			while (common < previous.length() && common < entry.length()
+					&& previous.charAt(common) == entry.charAt(common)) {
+				common++;
+			}
+			close(previous.length(), common);
+			for (int i = common; i < entry.length(); i++) {
+				if (path.size() <= i + 1) {
+					path.add(new OpenState());
+				}
+				path.get(i).add(entry.charAt(i), i == entry.length() - 1);
+			}
+		}
+
+		/** Closes every open state and returns the start state */
+		int finish(String last) {
+			close(last.length(), 0);
+			return write(path.get(0));
+		}
+
+		/** Closes the open states deeper than {@code depth} */
+		private void close(int from, int depth) {
+			for (int d = from; d > depth; d--) {
+				OpenState state = path.get(d);
+				path.get(d - 1).target(write(state));
+				state.clear();
+			}
+		}
+
+		/** Returns the first arc of a state equal to {@code state}, writing it if new */
+		private int write(OpenState state) {
+			if (state.size == 0) {
+				return 0;
+			}
+			key.setLength(0);
+			for (int i = 0; i < state.size; i++) {
+				key.append(state.labels[i]).append((char) (state.arcs[i] >>> 16)).append((char) state.arcs[i]);
+			}
+			String signature = key.toString();
+			Integer existing = register.get(signature);
+			if (existing != null) {
+				return existing;
+			}
+			if (count + state.size > TARGET) {
+				throw new IllegalArgumentException("Too many entries for a DawgLexicon");
+			}
+			if (count + state.size > labels.length) {
+				int capacity = Math.max(2 * labels.length, count + state.size);
+				labels = Arrays.copyOf(labels, capacity);
+				arcs = Arrays.copyOf(arcs, capacity);
+			}
+			int first = count;
+			for (int i = 0; i < state.size; i++) {
+				labels[count] = state.labels[i];
+				arcs[count] = state.arcs[i] | (i == state.size - 1 ? LAST : 0);
+				count++;
+			}
+			register.put(signature, first);
+			return first;
+		}
+	}
+
+	/** A state still being built, its arcs in order of label */
+	private static final class OpenState {
+
+		char[] labels = new char[4];
+
+		int[] arcs = new int[4];
+
+		int size;
+
+		void add(char label, boolean last) {
+			if (size == labels.length) {
+				labels = Arrays.copyOf(labels, 2 * size);
+				arcs = Arrays.copyOf(arcs, 2 * size);
+			}
+			labels[size] = label;
+			arcs[size] = last ? FINAL : 0;
+			size++;
+		}
+
+		/** Points the newest arc at a state written out */
+		void target(int first) {
+			arcs[size - 1] |= first;
+		}
+
+		void clear() {
+			size = 0;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finding and reading the documents named on a command line, for the tools
+ * in this package.
+ */
+final class DocumentFiles {
+
+	private DocumentFiles() {
+	}
+
+	/**
+	 * Adds {@code file} to {@code files}, or if it is a directory, every file
+	 * under it in name order.
+	 */
+	static void collect(File file, List<File> files) throws IOException {
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (children == null) {
+				throw new IOException("Cannot list " + file);
+			}
+			Arrays.sort(children);
+			for (File child : children) {
+				collect(child, files);
+			}
+		} else {
+			files.add(file);
+		}
+	}
+
+	/** Reads all of {@code in} */
+	static byte[] read(InputStream in) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buf = new byte[8192];
+		int n;
+		while ((n = in.read(buf)) != -1) {
+			bytes.write(buf, 0, n);
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -18,50 +18,23 @@
  */
 package uk.ac.nactem.tools.sentencesplitter;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author William Black and Adam Funk
  */
 public class EnglishSentenceSplitter {
 
-	/**
-	 * $1 = Possible non-word char before token starts $2 = Beginning of first
-	 * sentence: At least one non-space, a punctuation character, optionally
-	 * closing quotes and brackets $3 = Inter-sentence space. $4 = Possible
-	 * beginning of next sentence $5 = Rest of paragraph The subsequent tests
-	 * are generally on $2$3$4. The . in this regexp needs to be able to match
-	 * newlines.
-	 */
-	private static final Pattern CANDIDATE = Pattern.compile(
-			// 11111
-			"(.*?)"
-					// 22222222222222222222222222222222222222222222222222222
-					+ "([\\S&&[^-:=+'\"\\(\\[\\{]]+[\\.!?][\"\'\\)\\]\\}>]*)"
-					// 3333334444445555
-					+ "(\\s+)(\\S+)(.*)",
-			Pattern.DOTALL);
-
-	/** Split after [.?!] followed by any right bracketing */
-	private static final Pattern RULE0 = Pattern.compile("\\S+[\\.!?][\"\'\\)\\]\\}>]+\\s+\\S+");
-
-	/** Split after [?!] followed by whitespace */
-	private static final Pattern RULE1 = Pattern.compile("\\S+[!?]\\s+\\S+");
-
-	/**
-	 * Don't split if next nonwhite is lower-case unless it's in _lowerCaseTerms
-	 */
-	private static final Pattern RULE2 = Pattern.compile("\\S+\\.\\s+\\p{Ll}\\S*");
-
-	/** Splitting is possible with eWords, e.g. eScience */
-	private static final Pattern EWORDRULE = Pattern.compile("[eim]\\p{Upper}\\p{Alpha}+");
-
-	private static final Set<String> ABBREVIATIONS = new HashSet<String>();
+	/** Built-in abbreviations, as found in {@link SplitterConfig#defaults()} */
+	static final Set<String> ABBREVIATIONS = new HashSet<String>();
 	static {
 		// Civilian titles
 		ABBREVIATIONS.add("Dr.");
@@ -226,7 +199,8 @@ public class EnglishSentenceSplitter {
 		ABBREVIATIONS.add("Sun.");
 	}
 
-	private static final Set<String> LOWERCASETERMS = new HashSet<String>();
+	/** Built-in lower-case terms, as found in {@link SplitterConfig#defaults()} */
+	static final Set<String> LOWERCASETERMS = new HashSet<String>();
 	static {
 		LOWERCASETERMS.add("mRNA");
 		LOWERCASETERMS.add("tRNA");
@@ -256,104 +230,521 @@ public class EnglishSentenceSplitter {
 		LOWERCASETERMS.add("x");
 	}
 
+	/**
+	 * The implementations a splitter can use. Both find the same sentences;
+	 * see {@link BackendComparison} for checking this over a corpus.
+	 */
+	public enum Backend {
+		/**
+		 * The original regular expression splitter. It takes time quadratic in
+		 * the length of the text, puts every sentence in paragraph 0, and
+		 * aligns {@link EnglishSentenceSplitter#markupRawText(String)} offsets
+		 * with the text a word at a time, as it always has.
+		 */
+		LEGACY,
+		/** A single linear scan over the text, allocating nothing per sentence */
+		FAST
+	}
+
+	/**
+	 * Replaced as a whole by {@link #setConfig(SplitterConfig)}; each split
+	 * reads it once, and keeps what it read until it is done
+	 */
+	private volatile SplitterConfig config;
+
+	private final Backend backend;
+
+	/** Null unless documents are being compared with the legacy backend */
+	private volatile ShadowSampling shadow;
+
+	/** Null unless decisions are being counted */
+	private volatile SplitterStatistics statistics;
+
+	/** Null unless splits are being timed */
+	private volatile SplitterMetrics metrics;
+
+	/** Null unless slow documents are being reported */
+	private volatile SlowDocumentDetector slowDocuments;
+
+	/** Scanners are reused by the thread that created them */
+	private final ThreadLocal<BoundaryScanner> scanners = new ThreadLocal<BoundaryScanner>() {
+		@Override
+		protected BoundaryScanner initialValue() {
+			return newScanner();
+		}
+	};
+
+	public EnglishSentenceSplitter() {
+		this(SplitterConfig.defaults(), Backend.FAST);
+	}
+
+	public EnglishSentenceSplitter(Backend backend) {
+		this(SplitterConfig.defaults(), backend);
+	}
+
+	public EnglishSentenceSplitter(SplitterConfig config) {
+		this(config, Backend.FAST);
+	}
+
+	public EnglishSentenceSplitter(SplitterConfig config, Backend backend) {
+		if (config == null) {
+			throw new NullPointerException("config");
+		}
+		if (backend == null) {
+			throw new NullPointerException("backend");
+		}
+		check(config, backend);
+		this.config = config;
+		this.backend = backend;
+	}
+
+	private static void check(SplitterConfig config, Backend backend) {
+		if (backend == Backend.LEGACY && config.phrases().size() > 0) {
+			throw new IllegalArgumentException("The legacy backend does not support protected phrases");
+		}
+	}
+
+	/** The config that splits starting now use */
+	public SplitterConfig config() {
+		return config;
+	}
+
+	/**
+	 * Swaps in {@code config}, e.g. with freshly compiled lexicons, without
+	 * stopping the splitter. Splits that have started finish with the config
+	 * they started with, and splits that start later use the new one; neither
+	 * takes a lock. The swap is recorded by the {@link SplitterMetrics}, if
+	 * any.
+	 */
+	public void setConfig(SplitterConfig config) {
+		if (config == null) {
+			throw new NullPointerException("config");
+		}
+		check(config, backend);
+		this.config = config;
+		SplitterMetrics metrics = this.metrics;
+		if (metrics != null) {
+			metrics.configSwapped(config);
+		}
+	}
+
+	public Backend backend() {
+		return backend;
+	}
+
+	/**
+	 * Starts comparing a sample of the documents this splitter splits with
+	 * the legacy backend, or stops if {@code shadow} is null. Only whole
+	 * documents split with the fast backend are sampled: those passed to
+	 * {@code markupRawText}, {@code sentenceOffsets}, {@code split},
+	 * {@code splitParagraph}, {@code splitParallel} and {@code splitAll}.
+	 * The legacy backend knows nothing of protected phrases, so candidates
+	 * they keep are reported as mismatches.
+	 */
+	public void setShadowSampling(ShadowSampling shadow) {
+		this.shadow = shadow;
+	}
+
+	public ShadowSampling getShadowSampling() {
+		return shadow;
+	}
+
+	/**
+	 * Starts counting how candidate boundaries are decided, or stops if
+	 * {@code statistics} is null. Splitters may share statistics.
+	 */
+	public void setStatistics(SplitterStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	/** Null unless counting */
+	public SplitterStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Starts recording the throughput and latency of whole-document splits,
+	 * or stops if {@code metrics} is null. Splitters may share metrics.
+	 */
+	public void setMetrics(SplitterMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/** Null unless recording */
+	public SplitterMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Starts reporting documents that take too long to split, or stops if
+	 * {@code detector} is null. Whole-document splits are checked, with
+	 * either backend; documents are named only when passed to
+	 * {@link #split(String, CharSequence, SentenceSink)} or, by their index,
+	 * to {@code splitAll}.
+	 */
+	public void setSlowDocumentDetector(SlowDocumentDetector detector) {
+		this.slowDocuments = detector;
+	}
+
+	/** Null unless reporting */
+	public SlowDocumentDetector getSlowDocumentDetector() {
+		return slowDocuments;
+	}
+
+	/** Returns the sampling to submit the current document to, if any */
+	private ShadowSampling sample() {
+		ShadowSampling shadow = this.shadow;
+		return shadow != null && shadow.sample() ? shadow : null;
+	}
+
 	/**
 	 * To give this a compatible interface to Piao's SentParDetector
+	 * <p>
+	 * Compatibility note: the first element of each sentence is now its
+	 * paragraph index, counted as in {@link #sentenceOffsets(CharSequence)}.
+	 * Earlier versions always put 0 there; the legacy backend still does, for
+	 * callers that depend on it.
 	 */
 	public ArrayList<int[]> markupRawText(String input) throws Exception {
-		List<String> sentenceList = this.splitParagraph(input);
-		ArrayList<int[]> toReturn = new ArrayList<int[]>();
-		int begin = 0, end = 0;
-		int sentCount = 0;
-		int parCount = 0;
-		boolean newPar = true;
-		for (int i = 0; i < sentenceList.size(); i++) {
-			String sent = sentenceList.get(i);
-			if (sent.equals("")) {
-				newPar = true;
-				parCount = (i == 0 ? 0 : parCount++);
-			} else {
-				begin = this.getStartOfSentRobustly(sent, input, end);
-				end = this.getEndOfSentRobustly(sent, input, begin);
-				if (newPar) {
-					newPar = false;
-				}
-				int[] sentData = { parCount, sentCount, begin, end };
-				toReturn.add(sentData);
-				sentCount++;
+		if (backend == Backend.LEGACY) {
+			SplitEvent event = SplitEvent.start();
+			long started = startTime();
+			SplitterConfig config = this.config;
+			ArrayList<int[]> result = config.legacy().markupRawText(input);
+			finished(config, event, started, null, input, input.length(), result.size(), -1);
+			return result;
+		}
+		return offsets(input);
+	}
+
+	/**
+	 * Finds the sentences of {@code text}. Each element holds the paragraph
+	 * index, the sentence index, and the begin and end offsets of one
+	 * sentence, in the layout of {@link #markupRawText(String)}. Paragraphs
+	 * are separated by blank lines.
+	 */
+	public List<int[]> sentenceOffsets(CharSequence text) {
+		SentenceSpans spans = new SentenceSpans();
+		split(text, spans);
+		return spans.asList();
+	}
+
+	/**
+	 * Finds the sentences of {@code length} characters of {@code buf} from
+	 * {@code offset}, as {@link #sentenceOffsets(CharSequence)} does. Offsets
+	 * are relative to {@code offset}, and the buffer is read in place.
+	 */
+	public List<int[]> sentenceOffsets(char[] buf, int offset, int length) {
+		SentenceSpans spans = new SentenceSpans();
+		split(buf, offset, length, spans);
+		return spans.asList();
+	}
+
+	private ArrayList<int[]> offsets(CharSequence text) {
+		final ArrayList<int[]> result = new ArrayList<int[]>();
+		split(text, new SentenceSink() {
+			public void onSentence(int paragraph, int index, int begin, int end) {
+				int[] sentData = { paragraph, index, begin, end };
+				result.add(sentData);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Passes each sentence of {@code text} to {@code sink} as soon as its
+	 * boundary is found. Once the calling thread has warmed up, this allocates
+	 * nothing.
+	 *
+	 * @return the number of sentences
+	 */
+	public int split(CharSequence text, SentenceSink sink) {
+		return split(null, text, sink);
+	}
+
+	/**
+	 * Splits {@code text} as {@link #split(CharSequence, SentenceSink)} does,
+	 * naming it {@code id} to the {@link SlowDocumentDetector}, if any.
+	 *
+	 * @return the number of sentences
+	 */
+	public int split(String id, CharSequence text, SentenceSink sink) {
+		SplitEvent event = SplitEvent.start();
+		long started = startTime();
+		SplitterConfig config = this.config;
+		int count;
+		int candidates = -1;
+		if (backend == Backend.LEGACY) {
+			count = splitLegacy(config, text.toString(), sink);
+		} else {
+			BoundaryScanner scanner = acquireScanner(config);
+			try {
+				count = splitFast(scanner.reset(text, 0, text.length()), text.length(), sink);
+				candidates = scanner.candidates();
+			} finally {
+				scanner.release();
 			}
 		}
-		return toReturn;
+		finished(config, event, started, id, text, text.length(), count, candidates);
+		return count;
 	}
 
-	private int getEndOfSentRobustly(String sent, String wholeDoc, int begin) {
-		// align with source document
-		String[] wordsOfSent = sent.split(" ");
-		int start = begin - 1, end = start;
-		for (int i = 0; i < wordsOfSent.length; i++) {
-			String thisTok = wordsOfSent[i];
-			int startOfTok = wholeDoc.indexOf(thisTok, end);
-			end = startOfTok > -1 ? startOfTok + thisTok.length() : end + thisTok.length();
+	/**
+	 * Passes each sentence of {@code length} characters of {@code buf} from
+	 * {@code offset} to {@code sink}, as {@link #split(CharSequence, SentenceSink)}
+	 * does. Offsets are relative to {@code offset}.
+	 *
+	 * @return the number of sentences
+	 */
+	public int split(char[] buf, int offset, int length, SentenceSink sink) {
+		SplitEvent event = SplitEvent.start();
+		long started = startTime();
+		SplitterConfig config = this.config;
+		int count;
+		int candidates = -1;
+		if (backend == Backend.LEGACY) {
+			count = splitLegacy(config, new String(buf, offset, length), sink);
+		} else {
+			BoundaryScanner scanner = acquireScanner(config);
+			try {
+				count = splitFast(scanner.reset(buf, offset, length), length, sink);
+				candidates = scanner.candidates();
+			} finally {
+				scanner.release();
+			}
 		}
-		return end;
+		finished(config, event, started, null, slowDocuments == null ? null : CharBuffer.wrap(buf, offset, length),
+				length, count, candidates);
+		return count;
 	}
 
-	private int getStartOfSentRobustly(String sent, String wholeDoc, int lastend) {
-		// align with source document
-		String[] wordsOfSent = sent.split(" ");
-		int begin = wholeDoc.indexOf(wordsOfSent[0], lastend);
-		return begin == -1 ? lastend + 1 : begin;
+	/**
+	 * Passes the sentences of a scan of {@code length} characters to
+	 * {@code sink}, and submits them for shadow comparison if the document is
+	 * sampled.
+	 */
+	private int splitFast(BoundaryScanner scanner, int length, SentenceSink sink) {
+		ShadowSampling shadow = sample();
+		SentenceSpans spans = shadow == null ? null : new SentenceSpans();
+		int count = drain(scanner, sink, spans);
+		if (shadow != null) {
+			shadow.submit(scanner.config().legacy(), scanner.substring(0, length), spans);
+		}
+		return count;
 	}
 
-	public List<String> splitParagraph(String paragraph) {
-		List<String> result = new ArrayList<String>();
-		String remainder = new String(paragraph); /* copy to mess with */
-		StringBuffer accumulator = new StringBuffer("");
-		Matcher m;
-		String test;
-
-		while (remainder.length() > 0) {
-			m = CANDIDATE.matcher(remainder);
-
-			if (m.matches()) {
-				accumulator.append(m.group(1));
-				accumulator.append(m.group(2));
-				test = m.group(2) + m.group(3) + m.group(4);
-				remainder = m.group(3) + m.group(4) + m.group(5);
-
-				/* Split if $4 is a lower-case term (e.g. "mRNA") */
-				/* Split if _rule0 */
-				/* Split if _rule1 */
-				if (LOWERCASETERMS.contains(m.group(4)) || RULE0.matcher(test).matches()
-						|| RULE1.matcher(test).matches() || EWORDRULE.matcher(m.group(4)).matches()) {
-					result.add(accumulator.toString());
-					accumulator.setLength(0);
-				}
+	/** Returns the time now if splits are being timed, and otherwise 0 */
+	long startTime() {
+		return metrics != null || slowDocuments != null ? System.nanoTime() : 0;
+	}
 
-				/* Don't split if _rule2 */
-				/* Don't split if $2 is in _abbreviations */
-				/* Otherwise split */
-				else if ((!RULE2.matcher(test).matches()) && (!ABBREVIATIONS.contains(m.group(2).toLowerCase()))
-						&& (!ABBREVIATIONS.contains(m.group(2)))) {
-					result.add(accumulator.toString().trim());
-					accumulator.setLength(0);
-				}
+	/**
+	 * Records a whole-document split with whatever is observing this
+	 * splitter.
+	 *
+	 * @param config
+	 *            the config the document was split with
+	 * @param started
+	 *            result of {@link #startTime()} before the split
+	 * @param id
+	 *            name of the document, or null
+	 * @param text
+	 *            the document; only needed if it may be reported as slow
+	 * @param candidates
+	 *            candidate boundaries decided, or -1 if not counted
+	 */
+	void finished(SplitterConfig config, SplitEvent event, long started, String id, CharSequence text, int length,
+			int sentences, int candidates) {
+		if (event != null) {
+			event.finish(length, sentences, candidates, backend);
+		}
+		if (started == 0) {
+			return;
+		}
+		long nanos = System.nanoTime() - started;
+		SplitterMetrics metrics = this.metrics;
+		if (metrics != null) {
+			metrics.record(length, sentences, nanos);
+		}
+		SlowDocumentDetector slowDocuments = this.slowDocuments;
+		if (slowDocuments != null && text != null && slowDocuments.isSlow(length, nanos)) {
+			slowDocuments.report(this, config, id, text, nanos);
+		}
+	}
 
+	/** Passes sentences to {@code sink}, and to {@code copy} unless it is null */
+	private static int drain(BoundaryScanner scanner, SentenceSink sink, SentenceSpans copy) {
+		int count = 0;
+		while (scanner.next()) {
+			sink.onSentence(scanner.paragraph(), scanner.index(), scanner.begin(), scanner.end());
+			if (copy != null) {
+				copy.onSentence(scanner.paragraph(), scanner.index(), scanner.begin(), scanner.end());
 			}
+			count++;
+		}
+		return count;
+	}
+
+	/** Splits with the legacy engine of {@code config} */
+	int splitLegacy(SplitterConfig config, String text, SentenceSink sink) {
+		ArrayList<int[]> sentences = config.legacy().markupRawText(text);
+		for (int[] s : sentences) {
+			sink.onSentence(s[0], s[1], s[2], s[3]);
+		}
+		return sentences.size();
+	}
+
+	/**
+	 * Splits {@code text} on the common {@link ForkJoinPool}, as
+	 * {@link #splitParallel(CharSequence, ForkJoinPool)} does.
+	 */
+	public SentenceSpans splitParallel(CharSequence text) {
+		return splitParallel(text, ForkJoinPool.commonPool());
+	}
 
-			else { /* Out of stops: finish off. */
-				accumulator.append(remainder);
-				break;
+	/**
+	 * Splits a large text using the workers of {@code pool}. The text is cut
+	 * into pieces, at paragraph breaks where there are any nearby and
+	 * otherwise at arbitrary offsets, the pieces are split in parallel, the
+	 * decisions around each cut are repaired, and the results are joined with
+	 * offsets, sentence indices and paragraph indices counted over the whole
+	 * text, so a single huge paragraph is spread across workers too. The
+	 * result is identical to that of
+	 * {@link #split(CharSequence, SentenceSink)}; short texts are simply split
+	 * on the calling thread, as is everything with the legacy backend.
+	 */
+	public SentenceSpans splitParallel(CharSequence text, ForkJoinPool pool) {
+		if (backend == Backend.LEGACY || text.length() < 2 * ChunkedSplitter.MIN_CHUNK || pool.getParallelism() < 2) {
+			SentenceSpans spans = new SentenceSpans();
+			split(text, spans);
+			return spans;
+		}
+		SplitEvent event = SplitEvent.start();
+		long started = startTime();
+		SplitterConfig config = this.config;
+		SentenceSpans spans = ChunkedSplitter.split(this, config, text, pool);
+		finished(config, event, started, null, text, text.length(), spans.size(), -1);
+		ShadowSampling shadow = sample();
+		if (shadow != null) {
+			/* The caller may reuse the spans before the comparison runs */
+			shadow.submit(config.legacy(), text.toString(), spans.copy());
+		}
+		return spans;
+	}
+
+	/**
+	 * Splits each of {@code documents} using the threads of {@code executor},
+	 * with as many workers as there are processors.
+	 *
+	 * @see #splitAll(List, Executor, int)
+	 */
+	public List<SentenceSpans> splitAll(List<? extends CharSequence> documents, Executor executor)
+			throws InterruptedException {
+		return splitAll(documents, executor, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Splits each of {@code documents} using up to {@code workers} threads,
+	 * one of them the calling thread and the rest from {@code executor}.
+	 * Documents are handed out longest first to whichever worker is free, and
+	 * each worker keeps its own scanner for all the documents it splits. If
+	 * {@code executor} rejects a worker, the others split its share.
+	 *
+	 * @return the sentences of each document, in the order of
+	 *         {@code documents}
+	 */
+	public List<SentenceSpans> splitAll(List<? extends CharSequence> documents, Executor executor, int workers)
+			throws InterruptedException {
+		SplitterConfig config = this.config;
+		List<SentenceSpans> results = BatchSplitter.split(this, config, documents, executor, workers);
+		if (backend == Backend.FAST && shadow != null) {
+			for (int i = 0; i < results.size(); i++) {
+				ShadowSampling shadow = sample();
+				if (shadow != null) {
+					shadow.submit(config.legacy(), documents.get(i).toString(), results.get(i).copy());
+				}
 			}
 		}
+		return results;
+	}
 
-		/* Flush the accumulator */
-		if (accumulator.length() > 0) {
-			result.add(accumulator.toString().trim());
+	/**
+	 * Returns a lazy stream of the sentences of {@code text}; boundaries are
+	 * only looked for as sentences are consumed. A parallel stream divides the
+	 * text at paragraph breaks. The text must not change while the stream is
+	 * in use. With the legacy backend the whole text is split before the
+	 * stream is returned.
+	 */
+	public Stream<Sentence> sentences(CharSequence text) {
+		if (backend == Backend.LEGACY) {
+			String document = text.toString();
+			List<Sentence> sentences = new ArrayList<Sentence>();
+			for (int[] s : config.legacy().markupRawText(document)) {
+				// word alignment can overshoot the end of the text
+				int end = Math.min(s[3], document.length());
+				int begin = Math.min(s[2], end);
+				sentences.add(new Sentence(s[2], s[3], document.substring(begin, end)));
+			}
+			return sentences.stream();
 		}
+		return StreamSupport.stream(new SentenceSpliterator(this, config, text, 0, text.length()), false);
+	}
 
+	public List<String> splitParagraph(String paragraph) {
+		SplitEvent event = SplitEvent.start();
+		long started = startTime();
+		SplitterConfig config = this.config;
+		List<String> result;
+		int candidates = -1;
+		if (backend == Backend.LEGACY) {
+			result = config.legacy().splitParagraph(paragraph);
+		} else {
+			result = new ArrayList<String>();
+			ShadowSampling shadow = sample();
+			SentenceSpans spans = shadow == null ? null : new SentenceSpans();
+			BoundaryScanner scanner = acquireScanner(config);
+			try {
+				scanner.reset(paragraph, 0, paragraph.length());
+				while (scanner.next()) {
+					result.add(paragraph.substring(scanner.begin(), scanner.end()));
+					if (spans != null) {
+						spans.onSentence(scanner.paragraph(), scanner.index(), scanner.begin(), scanner.end());
+					}
+				}
+				if (scanner.blankTail()) {
+					result.add("");
+				}
+				candidates = scanner.candidates();
+			} finally {
+				scanner.release();
+			}
+			if (shadow != null) {
+				shadow.submit(config.legacy(), paragraph, spans);
+			}
+		}
+		finished(config, event, started, null, paragraph, paragraph.length(), result.size(), candidates);
 		return result;
 	}
 
+	/**
+	 * Returns this thread's scanner, or a fresh one if a sink is splitting
+	 * from inside a callback, set up with {@code config} to count into this
+	 * splitter's statistics.
+	 */
+	BoundaryScanner acquireScanner(SplitterConfig config) {
+		BoundaryScanner scanner = scanners.get();
+		return (scanner.isBusy() ? newScanner(config) : scanner.use(config)).count(statistics);
+	}
+
+	/** Returns a scanner with the current config that counts nothing, for probing */
+	BoundaryScanner newScanner() {
+		return newScanner(config);
+	}
+
+	BoundaryScanner newScanner(SplitterConfig config) {
+		return new BoundaryScanner(config);
+	}
+
 	public static void main(String[] argv) throws Exception {
 		String TEST_PAR = "Wot about Fig. 2 and (Fig. 3)? We created a myosinII-responsive FA interactome from proteins in the expected FA list by color-coding proteins according to MDR magnitude (Supplemental Fig. S4 and Table 7, http://dir.nhlbi.nih.gov/papers/lctm/focaladhesion/Home/index.html). The interactome illustrates the full range of MDR values, including proteins exhibiting minor/low confidence changes. This interactome suggests how myosinII activity may collectively modulate FA abundance of groups of proteins mediating distinct pathways.";
 		TEST_PAR = "The development coincided with a warning issued in London by the Bosnian Foreign Minister, Irfan Ljubijankic, that the region was \"dangerously close to a resumption of all-out war.\" He added, \"At the moment we have a diplomatic vacuum.\"\nIn the latest of a series of inconclusive Western moves to avert a renewed Balkan flareup, the American envoy, Assistant Secretary of State Richard C. Holbrooke, met with President Franjo Tudjman at the Presidential Palace in the hills above Zagreb tonight. But the meeting lasted less than 40 minutes and Mr. Holbrooke refused to answer reporters' questions when he left.";
@@ -0,0 +1,113 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations that any number of threads can record into
+ * without locking. Each power of two is divided into eight slots, so
+ * percentiles are accurate to within 12.5%.
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BITS = 3;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	/** Enough slots for any non-negative long */
+	private static final int SLOTS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+
+	private final AtomicLong max = new AtomicLong();
+
+	void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		counts.incrementAndGet(slot(nanos));
+		long current;
+		while (nanos > (current = max.get()) && !max.compareAndSet(current, nanos)) {
+		}
+	}
+
+	long count() {
+		long count = 0;
+		for (int i = 0; i < SLOTS; i++) {
+			count += counts.get(i);
+		}
+		return count;
+	}
+
+	long max() {
+		return max.get();
+	}
+
+	/**
+	 * Returns an upper bound on the duration below which a {@code fraction}
+	 * of the recorded durations lie, or 0 if none are recorded.
+	 */
+	long percentile(double fraction) {
+		long[] snapshot = new long[SLOTS];
+		long total = 0;
+		for (int i = 0; i < SLOTS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(fraction * total));
+		long seen = 0;
+		for (int i = 0; i < SLOTS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	void reset() {
+		for (int i = 0; i < SLOTS; i++) {
+			counts.set(i, 0);
+		}
+		max.set(0);
+	}
+
+	static int slot(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	static long upperBound(int slot) {
+		if (slot < SUB_BUCKETS) {
+			return slot;
+		}
+		int shift = slot / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + slot % SUB_BUCKETS) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The original regular expression splitter, kept as the reference for the
+ * output of {@link EnglishSentenceSplitter}. It matches {@link #CANDIDATE}
+ * against the rest of the text after every candidate boundary, so it takes
+ * time quadratic in the length of the text. Instances hold no mutable state.
+ */
+final class LegacyEngine {
+
+	/**
+	 * $1 = Possible non-word char before token starts $2 = Beginning of first
+	 * sentence: At least one non-space, a punctuation character, optionally
+	 * closing quotes and brackets $3 = Inter-sentence space. $4 = Possible
+	 * beginning of next sentence $5 = Rest of paragraph The subsequent tests
+	 * are generally on $2$3$4. The . in this regexp needs to be able to match
+	 * newlines.
+	 */
+	private static final Pattern CANDIDATE = Pattern.compile(
+			// 11111
+			"(.*?)"
+					// 22222222222222222222222222222222222222222222222222222
+					+ "([\\S&&[^-:=+'\"\\(\\[\\{]]+[\\.!?][\"\'\\)\\]\\}>]*)"
+					// 3333334444445555
+					+ "(\\s+)(\\S+)(.*)",
+			Pattern.DOTALL);
+
+	/** Split after [.?!] followed by any right bracketing */
+	private static final Pattern RULE0 = Pattern.compile("\\S+[\\.!?][\"\'\\)\\]\\}>]+\\s+\\S+");
+
+	/** Split after [?!] followed by whitespace */
+	private static final Pattern RULE1 = Pattern.compile("\\S+[!?]\\s+\\S+");
+
+	/**
+	 * Don't split if next nonwhite is lower-case unless it's in _lowerCaseTerms
+	 */
+	private static final Pattern RULE2 = Pattern.compile("\\S+\\.\\s+\\p{Ll}\\S*");
+
+	/** Splitting is possible with eWords, e.g. eScience */
+	private static final Pattern EWORDRULE = Pattern.compile("[eim]\\p{Upper}\\p{Alpha}+");
+
+	private final Lexicon abbreviations;
+
+	private final Lexicon lowerCaseTerms;
+
+	LegacyEngine(Lexicon abbreviations, Lexicon lowerCaseTerms) {
+		this.abbreviations = abbreviations;
+		this.lowerCaseTerms = lowerCaseTerms;
+	}
+
+	/**
+	 * Sentences aligned with {@code input} one word at a time; paragraphs are
+	 * not detected, so every sentence is in paragraph 0.
+	 */
+	ArrayList<int[]> markupRawText(String input) {
+		List<String> sentenceList = this.splitParagraph(input);
+		ArrayList<int[]> toReturn = new ArrayList<int[]>();
+		int begin = 0, end = 0;
+		int sentCount = 0;
+		int parCount = 0;
+		boolean newPar = true;
+		for (int i = 0; i < sentenceList.size(); i++) {
+			String sent = sentenceList.get(i);
+			if (sent.equals("")) {
+				newPar = true;
+				parCount = (i == 0 ? 0 : parCount++);
+			} else {
+				begin = this.getStartOfSentRobustly(sent, input, end);
+				end = this.getEndOfSentRobustly(sent, input, begin);
+				if (newPar) {
+					newPar = false;
+				}
+				int[] sentData = { parCount, sentCount, begin, end };
+				toReturn.add(sentData);
+				sentCount++;
+			}
+		}
+		return toReturn;
+	}
+
+	private int getEndOfSentRobustly(String sent, String wholeDoc, int begin) {
+		// align with source document
+		String[] wordsOfSent = sent.split(" ");
+		int start = begin - 1, end = start;
+		for (int i = 0; i < wordsOfSent.length; i++) {
+			String thisTok = wordsOfSent[i];
+			int startOfTok = wholeDoc.indexOf(thisTok, end);
+			end = startOfTok > -1 ? startOfTok + thisTok.length() : end + thisTok.length();
+		}
+		return end;
+	}
+
+	private int getStartOfSentRobustly(String sent, String wholeDoc, int lastend) {
+		// align with source document
+		String[] wordsOfSent = sent.split(" ");
+		int begin = wholeDoc.indexOf(wordsOfSent[0], lastend);
+		return begin == -1 ? lastend + 1 : begin;
+	}
+
+	List<String> splitParagraph(String paragraph) {
+		List<String> result = new ArrayList<String>();
+		String remainder = new String(paragraph); /* copy to mess with */
+		StringBuffer accumulator = new StringBuffer("");
+		Matcher m;
+		String test;
+
+		while (remainder.length() > 0) {
+			m = CANDIDATE.matcher(remainder);
+
+			if (m.matches()) {
+				accumulator.append(m.group(1));
+				accumulator.append(m.group(2));
+				test = m.group(2) + m.group(3) + m.group(4);
+				remainder = m.group(3) + m.group(4) + m.group(5);
+
+				/* Split if $4 is a lower-case term (e.g. "mRNA") */
+				/* Split if _rule0 */
+				/* Split if _rule1 */
+				if (contains(lowerCaseTerms, m.group(4)) || RULE0.matcher(test).matches()
+						|| RULE1.matcher(test).matches() || EWORDRULE.matcher(m.group(4)).matches()) {
+					result.add(accumulator.toString());
+					accumulator.setLength(0);
+				}
+
+				/* Don't split if _rule2 */
+				/* Don't split if $2 is in _abbreviations */
+				/* Otherwise split */
+				else if ((!RULE2.matcher(test).matches()) && (!contains(abbreviations, m.group(2).toLowerCase()))
+						&& (!contains(abbreviations, m.group(2)))) {
+					result.add(accumulator.toString().trim());
+					accumulator.setLength(0);
+				}
+
+			}
+
+			else { /* Out of stops: finish off. */
+				accumulator.append(remainder);
+				break;
+			}
+		}
+
+		/* Flush the accumulator */
+		if (accumulator.length() > 0) {
+			result.add(accumulator.toString().trim());
+		}
+
+		return result;
+	}
+
+	private static boolean contains(Lexicon lexicon, String s) {
+		return lexicon.contains(s, 0, s.length());
+	}
+}
@@ -0,0 +1,38 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+/**
+ * A set of strings that can be queried with a range of characters, so that
+ * looking up a token needs no substring.
+ */
+public interface Lexicon {
+
+	/** Whether characters {@code start} to {@code end} of {@code text} are an entry */
+	boolean contains(CharSequence text, int start, int end);
+
+	/**
+	 * Whether characters {@code start} to {@code end} of {@code text} are an
+	 * entry, either as they are or in lower case.
+	 */
+	boolean containsFolded(CharSequence text, int start, int end);
+
+	/** Number of entries */
+	int size();
+}
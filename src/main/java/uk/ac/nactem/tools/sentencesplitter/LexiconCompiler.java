@@ -0,0 +1,52 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles word lists in the {@link SplitterConfig} text format into one
+ * binary file for {@link MappedLexicon#open(java.nio.file.Path)}.
+ * <p>
+ * Usage: {@code LexiconCompiler list.txt... lexicon.bin}
+ */
+public class LexiconCompiler {
+
+	public static void main(String[] argv) throws Exception {
+		if (argv.length < 2) {
+			System.err.println("Usage: LexiconCompiler list.txt... lexicon.bin");
+			System.exit(2);
+		}
+		long started = System.nanoTime();
+		List<String> entries = new ArrayList<String>();
+		for (int i = 0; i < argv.length - 1; i++) {
+			SplitterConfig.readEntries(
+					new InputStreamReader(new FileInputStream(argv[i]), StandardCharsets.UTF_8), entries);
+		}
+		File output = new File(argv[argv.length - 1]);
+		MappedLexicon.write(entries, output.toPath());
+		System.err.println("Compiled " + MappedLexicon.open(output.toPath()).size() + " entries into " + output
+				+ " (" + output.length() + " bytes) in " + (System.nanoTime() - started) / 1000000 + " ms");
+	}
+}
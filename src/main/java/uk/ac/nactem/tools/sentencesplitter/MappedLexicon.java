@@ -0,0 +1,242 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A lexicon queried in place in a file written by {@link #write(Collection, Path)}
+ * or {@link LexiconCompiler}. The file is memory-mapped, so opening it reads
+ * nothing but the header, the entries are not held on the heap, and every JVM
+ * on a host mapping the same file shares one copy through the page cache.
+ * Lookups behave exactly as those of a {@link CompiledLexicon} over the same
+ * entries, and allocate nothing. The file must not change while mapped.
+ */
+public final class MappedLexicon implements Lexicon {
+
+	/** "NSLX" */
+	static final int MAGIC = 0x4E534C58;
+
+	static final int VERSION = 1;
+
+	/** Magic, version, size, maximum length and capacity */
+	static final int HEADER = 20;
+
+	/** Hash, key length, variant count and key flag */
+	static final int RECORD_HEADER = 9;
+
+	private final ByteBuffer buffer;
+
+	private final int size;
+
+	private final int maxLength;
+
+	private final int mask;
+
+	private MappedLexicon(ByteBuffer buffer) throws IOException {
+		if (buffer.limit() < HEADER || buffer.getInt(0) != MAGIC) {
+			throw new IOException("Not a compiled lexicon");
+		}
+		if (buffer.getInt(4) != VERSION) {
+			throw new IOException("Unsupported lexicon version " + buffer.getInt(4));
+		}
+		int capacity = buffer.getInt(16);
+		if (capacity <= 0 || (capacity & (capacity - 1)) != 0 || HEADER + 4L * capacity > buffer.limit()) {
+			throw new IOException("Corrupt lexicon header");
+		}
+		this.buffer = buffer;
+		this.size = buffer.getInt(8);
+		this.maxLength = buffer.getInt(12);
+		this.mask = capacity - 1;
+	}
+
+	/** Maps {@code file} read-only */
+	public static MappedLexicon open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			return new MappedLexicon(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Compiles {@code entries} into {@code file}. The lexicon is written to a
+	 * temporary file beside it and moved into place, so that processes which
+	 * have the old file mapped keep reading it intact. A file that is
+	 * replaced keeps its permissions; a new one gets the default permissions
+	 * of new files.
+	 */
+	public static void write(Collection<String> entries, Path file) throws IOException {
+		Path temporary = createTemporary(file);
+		boolean moved = false;
+		try {
+			copyPermissions(file, temporary);
+			OutputStream out = Files.newOutputStream(temporary);
+			try {
+				DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+				new CompiledLexicon(entries).write(data);
+				data.flush();
+			} finally {
+				out.close();
+			}
+			Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(temporary);
+			}
+		}
+	}
+
+	/**
+	 * Creates an empty file beside {@code file}. Unlike
+	 * {@link Files#createTempFile}, which makes it readable by its owner
+	 * alone, this leaves its permissions to the umask.
+	 */
+	private static Path createTemporary(Path file) throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		String prefix = file.getFileName().toString() + ".";
+		while (true) {
+			String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp";
+			Path temporary = directory.resolve(prefix + suffix);
+			try {
+				return Files.createFile(temporary);
+			} catch (FileAlreadyExistsException e) {
+				/* Try another name */
+			}
+		}
+	}
+
+	/** Gives {@code target} the POSIX permissions of {@code source}, if it exists */
+	private static void copyPermissions(Path source, Path target) throws IOException {
+		if (Files.getFileAttributeView(target, PosixFileAttributeView.class) == null) {
+			return;
+		}
+		try {
+			Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+		} catch (NoSuchFileException e) {
+			if (!Files.exists(target)) {
+				throw e;
+			}
+		}
+	}
+
+	public boolean contains(CharSequence text, int start, int end) {
+		int record = find(text, start, end);
+		if (record < 0) {
+			return false;
+		}
+		int keyLength = buffer.getChar(record + 4);
+		int key = record + RECORD_HEADER;
+		if (buffer.get(record + 8) != 0 && same(key, keyLength, text, start, end)) {
+			return true;
+		}
+		return isVariant(record, text, start, end);
+	}
+
+	public boolean containsFolded(CharSequence text, int start, int end) {
+		int record = find(text, start, end);
+		if (record < 0) {
+			return false;
+		}
+		return buffer.get(record + 8) != 0 || isVariant(record, text, start, end);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/** Adds the lower case form of every entry to {@code filter}, from the record headers */
+	void fill(BloomFilter filter) {
+		for (int slot = 0; slot <= mask; slot++) {
+			int record = buffer.getInt(HEADER + 4 * slot);
+			if (record >= 0) {
+				filter.add(buffer.getInt(record), buffer.getChar(record + 4));
+			}
+		}
+	}
+
+	/** Returns the offset of the record whose key is the range in lower case, or -1 */
+	private int find(CharSequence text, int start, int end) {
+		int length = end - start;
+		if (length > maxLength) {
+			return -1;
+		}
+		int hash = CompiledLexicon.hash(text, start, end);
+		for (int slot = CompiledLexicon.spread(hash) & mask;; slot = (slot + 1) & mask) {
+			int record = buffer.getInt(HEADER + 4 * slot);
+			if (record < 0) {
+				return -1;
+			}
+			if (buffer.getInt(record) == hash && buffer.getChar(record + 4) == length
+					&& sameFolded(record + RECORD_HEADER, text, start, end)) {
+				return record;
+			}
+		}
+	}
+
+	private boolean isVariant(int record, CharSequence text, int start, int end) {
+		int variants = buffer.getChar(record + 6);
+		int at = record + RECORD_HEADER + 2 * buffer.getChar(record + 4);
+		for (int i = 0; i < variants; i++) {
+			int length = buffer.getChar(at);
+			if (same(at + 2, length, text, start, end)) {
+				return true;
+			}
+			at += 2 + 2 * length;
+		}
+		return false;
+	}
+
+	private boolean same(int at, int length, CharSequence text, int start, int end) {
+		if (length != end - start) {
+			return false;
+		}
+		for (int i = start; i < end; i++, at += 2) {
+			if (buffer.getChar(at) != text.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean sameFolded(int at, CharSequence text, int start, int end) {
+		for (int i = start; i < end; i++, at += 2) {
+			if (buffer.getChar(at) != CompiledLexicon.lowerCase(text, i, start, end)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
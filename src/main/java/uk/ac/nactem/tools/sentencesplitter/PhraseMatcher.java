@@ -0,0 +1,245 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Multi-token phrases, such as "et al." or "U. S. A.", inside which, or
+ * straight after which, no sentence boundary is made. The phrases are
+ * compiled into an Aho-Corasick automaton over their lower case characters,
+ * with each whitespace run standing for one space, so one pass over the
+ * tokens around a candidate boundary finds every phrase that spans it or
+ * ends at it. Phrases match whole tokens, ignoring case; a phrase of one
+ * token is ignored, as it is no more than an abbreviation.
+ * Instances are immutable.
+ */
+public final class PhraseMatcher {
+
+	private static final PhraseMatcher EMPTY = new PhraseMatcher(new ArrayList<String>());
+
+	private final int size;
+
+	/** Tokens in the longest phrase */
+	private final int maxTokens;
+
+	/** Failure link of each state */
+	private final int[] fail;
+
+	/** Length of the longest pattern ending in each state, or 0 */
+	private final int[] longest;
+
+	/** Transitions, keyed on the state and character; state 0 is never a target */
+	private final int mask;
+
+	private final long[] keys;
+
+	private final int[] targets;
+
+	public PhraseMatcher(Collection<String> phrases) {
+		/* Patterns are " token token ... " so that they only match whole tokens */
+		Set<String> patterns = new LinkedHashSet<String>();
+		int mostTokens = 0;
+		for (String phrase : phrases) {
+			StringBuilder pattern = new StringBuilder(" ");
+			int tokens = 0;
+			int i = 0;
+			while (true) {
+				while (i < phrase.length() && BoundaryScanner.isSpace(phrase.charAt(i))) {
+					i++;
+				}
+				if (i == phrase.length()) {
+					break;
+				}
+				int begin = i;
+				while (i < phrase.length() && !BoundaryScanner.isSpace(phrase.charAt(i))) {
+					i++;
+				}
+				pattern.append(CompiledLexicon.lowerCase(phrase.substring(begin, i))).append(' ');
+				tokens++;
+			}
+			if (tokens > 1 && patterns.add(pattern.toString())) {
+				mostTokens = Math.max(mostTokens, tokens);
+			}
+		}
+		size = patterns.size();
+		maxTokens = mostTokens;
+
+		/* The trie */
+		List<IntList> childChars = new ArrayList<IntList>();
+		List<IntList> childStates = new ArrayList<IntList>();
+		IntList depths = new IntList();
+		IntList terminal = new IntList();
+		childChars.add(new IntList());
+		childStates.add(new IntList());
+		depths.add(0);
+		terminal.add(0);
+		int edges = 0;
+		for (String pattern : patterns) {
+			int state = 0;
+			for (int i = 0; i < pattern.length(); i++) {
+				char c = pattern.charAt(i);
+				IntList chars = childChars.get(state);
+				int child = -1;
+				for (int k = 0; k < chars.size(); k++) {
+					if (chars.get(k) == c) {
+						child = childStates.get(state).get(k);
+						break;
+					}
+				}
+				if (child < 0) {
+					child = depths.size();
+					chars.add(c);
+					childStates.get(state).add(child);
+					childChars.add(new IntList());
+					childStates.add(new IntList());
+					depths.add(i + 1);
+					terminal.add(0);
+					edges++;
+				}
+				state = child;
+			}
+			terminal.set(state, 1);
+		}
+
+		int states = depths.size();
+		int capacity = 2;
+		while (capacity < 2 * edges) {
+			capacity <<= 1;
+		}
+		mask = capacity - 1;
+		keys = new long[capacity];
+		targets = new int[capacity];
+		for (int state = 0; state < states; state++) {
+			IntList chars = childChars.get(state);
+			for (int k = 0; k < chars.size(); k++) {
+				put(state, (char) chars.get(k), childStates.get(state).get(k));
+			}
+		}
+
+		/* Failure links, breadth first so that shorter states are done first */
+		fail = new int[states];
+		longest = new int[states];
+		IntList queue = new IntList();
+		queue.add(0);
+		for (int head = 0; head < queue.size(); head++) {
+			int state = queue.get(head);
+			IntList chars = childChars.get(state);
+			for (int k = 0; k < chars.size(); k++) {
+				int child = childStates.get(state).get(k);
+				fail[child] = state == 0 ? 0 : next(fail[state], (char) chars.get(k));
+				longest[child] = terminal.get(child) != 0 ? depths.get(child) : longest[fail[child]];
+				queue.add(child);
+			}
+		}
+	}
+
+	/** A matcher with no phrases */
+	static PhraseMatcher empty() {
+		return EMPTY;
+	}
+
+	/** Number of distinct phrases of two or more tokens */
+	public int size() {
+		return size;
+	}
+
+	/** Tokens in the longest phrase */
+	int maxTokens() {
+		return maxTokens;
+	}
+
+	/**
+	 * Whether a phrase in the tokens from {@code from} to {@code to} protects
+	 * the whitespace run starting at {@code seam}, i.e. starts before it and
+	 * ends after it or just before it. {@code from} must be the start of a
+	 * token and {@code to} the end of one.
+	 */
+	boolean protects(CharSequence text, int from, int to, int seam) {
+		int state = next(0, ' ');
+		/* Index of the next character in the normalised text, and of the seam */
+		int at = 1;
+		int seamAt = Integer.MAX_VALUE;
+		int i = from;
+		while (i <= to) {
+			char c;
+			if (i == to || BoundaryScanner.isSpace(text.charAt(i))) {
+				if (i == seam) {
+					seamAt = at;
+				}
+				c = ' ';
+				do {
+					i++;
+				} while (i < to && BoundaryScanner.isSpace(text.charAt(i)));
+			} else {
+				c = CompiledLexicon.lowerCase(text, i, from, to);
+				i++;
+			}
+			state = next(state, c);
+			if (longest[state] > 0 && at >= seamAt && at - longest[state] + 1 < seamAt) {
+				return true;
+			}
+			at++;
+		}
+		return false;
+	}
+
+	private int next(int state, char c) {
+		while (true) {
+			int target = target(state, c);
+			if (target != 0 || state == 0) {
+				return target;
+			}
+			state = fail[state];
+		}
+	}
+
+	private int target(int state, char c) {
+		long key = key(state, c);
+		for (int slot = slot(key); targets[slot] != 0; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return targets[slot];
+			}
+		}
+		return 0;
+	}
+
+	private void put(int state, char c, int target) {
+		long key = key(state, c);
+		int slot = slot(key);
+		while (targets[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		targets[slot] = target;
+	}
+
+	private static long key(int state, char c) {
+		return (long) state << 16 | c;
+	}
+
+	private int slot(long key) {
+		int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+}
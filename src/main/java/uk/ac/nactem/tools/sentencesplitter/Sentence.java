@@ -0,0 +1,70 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+/**
+ * A sentence and its position in the text it was split from.
+ */
+public final class Sentence {
+
+	private final long begin;
+
+	private final long end;
+
+	private final String text;
+
+	public Sentence(long begin, long end, String text) {
+		this.begin = begin;
+		this.end = end;
+		this.text = text;
+	}
+
+	/** Offset of the first character of the sentence */
+	public long begin() {
+		return begin;
+	}
+
+	/** Offset just past the last character of the sentence */
+	public long end() {
+		return end;
+	}
+
+	public String text() {
+		return text;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof Sentence)) {
+			return false;
+		}
+		Sentence other = (Sentence) o;
+		return begin == other.begin && end == other.end && text.equals(other.text);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * Long.hashCode(begin) + Long.hashCode(end)) + text.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+}
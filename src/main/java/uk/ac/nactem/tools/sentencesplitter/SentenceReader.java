@@ -0,0 +1,88 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Splits the text supplied by a {@link Reader} without reading all of it
+ * first. A sentence is returned as soon as the token following it has been
+ * read, and the buffer only ever needs to hold the longest sentence and the
+ * token after it, so memory does not depend on the length of the text.
+ * <p>
+ * Sentences are the same as those found by
+ * {@link EnglishSentenceSplitter#split(CharSequence, SentenceSink)} over the
+ * whole text, with offsets counted from the first character read. Only the
+ * fast backend can split incrementally, so the splitter must not use the
+ * legacy backend.
+ */
+public class SentenceReader implements Closeable {
+
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private final Reader in;
+
+	private final BoundaryScanner scanner;
+
+	public SentenceReader(EnglishSentenceSplitter splitter, Reader in) {
+		this(splitter, in, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param bufferSize
+	 *            initial size of the buffer, in characters
+	 */
+	public SentenceReader(EnglishSentenceSplitter splitter, Reader in, int bufferSize) {
+		if (splitter.backend() == EnglishSentenceSplitter.Backend.LEGACY) {
+			throw new IllegalArgumentException("The legacy backend cannot split a Reader incrementally");
+		}
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("Buffer size <= 0");
+		}
+		this.in = in;
+		this.scanner = splitter.newScanner().count(splitter.getStatistics()).reset(in, new char[bufferSize]);
+	}
+
+	/**
+	 * Reads the next sentence.
+	 *
+	 * @return the sentence, or null at the end of the text
+	 */
+	public Sentence read() throws IOException {
+		try {
+			if (!scanner.isBusy() || !scanner.next()) {
+				scanner.release();
+				return null;
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		long origin = scanner.origin();
+		return new Sentence(origin + scanner.begin(), origin + scanner.end(),
+				scanner.substring(scanner.begin(), scanner.end()));
+	}
+
+	public void close() throws IOException {
+		scanner.release();
+		in.close();
+	}
+}
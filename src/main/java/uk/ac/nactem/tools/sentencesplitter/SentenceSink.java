@@ -0,0 +1,40 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+/**
+ * Receives sentences from {@link EnglishSentenceSplitter} as their boundaries
+ * are found.
+ */
+public interface SentenceSink {
+
+	/**
+	 * Called once per sentence, in document order.
+	 *
+	 * @param paragraph
+	 *            index of the paragraph holding the sentence
+	 * @param index
+	 *            index of the sentence in the document
+	 * @param begin
+	 *            offset of the first character of the sentence
+	 * @param end
+	 *            offset just past the last character of the sentence
+	 */
+	void onSentence(int paragraph, int index, int begin, int end);
+}
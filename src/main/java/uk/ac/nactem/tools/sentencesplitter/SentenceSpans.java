@@ -0,0 +1,135 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Sentence spans packed into a single growable int array, four ints per
+ * sentence. Pass one to {@link EnglishSentenceSplitter#split(CharSequence, SentenceSink)}
+ * to collect sentences, and {@link #clear()} it to reuse the storage for the
+ * next document.
+ */
+public final class SentenceSpans implements SentenceSink {
+
+	private static final int PARAGRAPH = 0;
+
+	private static final int INDEX = 1;
+
+	private static final int BEGIN = 2;
+
+	private static final int END = 3;
+
+	private static final int FIELDS = 4;
+
+	private int[] data;
+
+	private int size;
+
+	public SentenceSpans() {
+		this(16);
+	}
+
+	/**
+	 * @param capacity
+	 *            number of sentences to make room for
+	 */
+	public SentenceSpans(int capacity) {
+		data = new int[Math.max(capacity, 1) * FIELDS];
+	}
+
+	public void onSentence(int paragraph, int index, int begin, int end) {
+		int at = size * FIELDS;
+		if (at == data.length) {
+			data = Arrays.copyOf(data, data.length * 2);
+		}
+		data[at + PARAGRAPH] = paragraph;
+		data[at + INDEX] = index;
+		data[at + BEGIN] = begin;
+		data[at + END] = end;
+		size++;
+	}
+
+	/** Number of sentences held */
+	public int size() {
+		return size;
+	}
+
+	public int paragraph(int i) {
+		return data[offset(i) + PARAGRAPH];
+	}
+
+	public int index(int i) {
+		return data[offset(i) + INDEX];
+	}
+
+	public int begin(int i) {
+		return data[offset(i) + BEGIN];
+	}
+
+	public int end(int i) {
+		return data[offset(i) + END];
+	}
+
+	/** A copy holding just the sentences held now */
+	SentenceSpans copy() {
+		SentenceSpans copy = new SentenceSpans(size);
+		System.arraycopy(data, 0, copy.data, 0, size * FIELDS);
+		copy.size = size;
+		return copy;
+	}
+
+	/** Forgets all sentences, keeping the storage */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Returns a read-only view in the layout of
+	 * {@link EnglishSentenceSplitter#markupRawText(String)}. Each call to
+	 * {@code get} creates the {@code int[4]} it returns.
+	 */
+	public List<int[]> asList() {
+		return new SpanList();
+	}
+
+	private int offset(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+		return i * FIELDS;
+	}
+
+	private final class SpanList extends AbstractList<int[]> implements RandomAccess {
+
+		@Override
+		public int[] get(int i) {
+			int at = offset(i);
+			return Arrays.copyOfRange(data, at, at + FIELDS);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Finds the sentences of a text on demand. Splitting happens at paragraph
+ * breaks where the sentence before the break is known to end, so that each
+ * half finds exactly the sentences a single scan would.
+ */
+final class SentenceSpliterator implements Spliterator<Sentence> {
+
+	/** Regions shorter than this are not split further */
+	private static final int MIN_SPLIT = 1 << 14;
+
+	/** Rough number of characters per sentence, for size estimates */
+	private static final int SENTENCE_LENGTH = 120;
+
+	private final EnglishSentenceSplitter splitter;
+
+	/** The config of the splitter when the stream was made */
+	private final SplitterConfig config;
+
+	private final CharSequence text;
+
+	private int from;
+
+	private final int to;
+
+	/** Null until the first sentence is requested */
+	private BoundaryScanner scanner;
+
+	SentenceSpliterator(EnglishSentenceSplitter splitter, SplitterConfig config, CharSequence text, int from, int to) {
+		this.splitter = splitter;
+		this.config = config;
+		this.text = text;
+		this.from = from;
+		this.to = to;
+	}
+
+	public boolean tryAdvance(Consumer<? super Sentence> action) {
+		if (scanner == null) {
+			scanner = splitter.newScanner(config).count(splitter.getStatistics()).reset(text, from, to, text.length());
+		}
+		if (!scanner.next()) {
+			scanner.release();
+			from = to;
+			return false;
+		}
+		action.accept(new Sentence(scanner.begin(), scanner.end(), scanner.substring(scanner.begin(), scanner.end())));
+		return true;
+	}
+
+	public Spliterator<Sentence> trySplit() {
+		if (scanner != null || to - from < 2 * MIN_SPLIT) {
+			return null;
+		}
+		int cut = splitter.newScanner(config).findParagraphCut(text, from, from + (to - from) / 2, to);
+		if (cut < 0) {
+			return null;
+		}
+		Spliterator<Sentence> prefix = new SentenceSpliterator(splitter, config, text, from, cut);
+		from = cut;
+		return prefix;
+	}
+
+	public long estimateSize() {
+		return Math.max((to - from) / SENTENCE_LENGTH, 1);
+	}
+
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.List;
+
+/**
+ * Told the outcome of documents re-split with the legacy backend by
+ * {@link ShadowSampling}. Methods are called on the threads of the sampling
+ * executor, never on the thread that split the document.
+ */
+public interface ShadowListener {
+
+	/**
+	 * Called when the backends disagree about a document. Spans are in the
+	 * layout of {@link EnglishSentenceSplitter#markupRawText(String)}.
+	 *
+	 * @param text
+	 *            a copy of the document
+	 * @param legacy
+	 *            sentences found by the legacy backend
+	 * @param fast
+	 *            sentences found by the fast backend
+	 */
+	void onMismatch(String text, List<int[]> legacy, List<int[]> fast);
+
+	/**
+	 * Called when the legacy backend fails on a document, typically with a
+	 * {@link StackOverflowError} from its regular expression on long text.
+	 */
+	void onFailure(String text, Throwable failure);
+}
@@ -0,0 +1,183 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-splits a random sample of documents with the legacy backend, in the
+ * background, to check a splitter using the fast backend. Install one with
+ * {@link EnglishSentenceSplitter#setShadowSampling(ShadowSampling)}.
+ * <p>
+ * The splitting thread only draws a random number per document and, for
+ * sampled documents, records the spans and copies the text. Comparisons run
+ * on the given executor; when too many are pending or the executor refuses
+ * one, the sample is dropped rather than making the caller wait. Sentence
+ * indices and offsets are compared; paragraph indices are not, since the
+ * legacy backend always reports paragraph 0.
+ */
+public final class ShadowSampling {
+
+	private static final int DEFAULT_MAX_PENDING = 64;
+
+	private final double rate;
+
+	private final Executor executor;
+
+	private final ShadowListener listener;
+
+	private final int maxPending;
+
+	private final AtomicInteger pending = new AtomicInteger();
+
+	private final LongAdder sampled = new LongAdder();
+
+	private final LongAdder compared = new LongAdder();
+
+	private final LongAdder mismatched = new LongAdder();
+
+	private final LongAdder failed = new LongAdder();
+
+	private final LongAdder dropped = new LongAdder();
+
+	public ShadowSampling(double rate, Executor executor, ShadowListener listener) {
+		this(rate, executor, listener, DEFAULT_MAX_PENDING);
+	}
+
+	/**
+	 * @param rate
+	 *            fraction of documents to re-split, from 0 to 1
+	 * @param maxPending
+	 *            most comparisons queued or running at once
+	 */
+	public ShadowSampling(double rate, Executor executor, ShadowListener listener, int maxPending) {
+		if (!(rate >= 0 && rate <= 1)) {
+			throw new IllegalArgumentException("Rate not in [0, 1]: " + rate);
+		}
+		if (maxPending <= 0) {
+			throw new IllegalArgumentException("maxPending <= 0");
+		}
+		if (executor == null || listener == null) {
+			throw new NullPointerException();
+		}
+		this.rate = rate;
+		this.executor = executor;
+		this.listener = listener;
+		this.maxPending = maxPending;
+	}
+
+	public double rate() {
+		return rate;
+	}
+
+	/** Documents chosen for comparison, including dropped ones */
+	public long sampled() {
+		return sampled.sum();
+	}
+
+	/** Documents the legacy backend has re-split */
+	public long compared() {
+		return compared.sum();
+	}
+
+	/** Documents on which the backends disagreed */
+	public long mismatched() {
+		return mismatched.sum();
+	}
+
+	/** Documents the legacy backend failed on */
+	public long failed() {
+		return failed.sum();
+	}
+
+	/** Samples discarded because the executor was busy */
+	public long dropped() {
+		return dropped.sum();
+	}
+
+	/** Decides whether to compare the next document */
+	boolean sample() {
+		return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+	}
+
+	/**
+	 * Queues a comparison of {@code fast} with what {@code legacy} finds in
+	 * {@code text}, which must not change afterwards.
+	 */
+	void submit(final LegacyEngine legacy, final String text, final SentenceSpans fast) {
+		sampled.increment();
+		if (pending.incrementAndGet() > maxPending) {
+			pending.decrementAndGet();
+			dropped.increment();
+			return;
+		}
+		try {
+			executor.execute(new Runnable() {
+				public void run() {
+					try {
+						compare(legacy, text, fast);
+					} finally {
+						pending.decrementAndGet();
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			pending.decrementAndGet();
+			dropped.increment();
+		}
+	}
+
+	private void compare(LegacyEngine legacy, String text, SentenceSpans fast) {
+		List<int[]> expected;
+		try {
+			expected = legacy.markupRawText(text);
+		} catch (RuntimeException e) {
+			failed.increment();
+			listener.onFailure(text, e);
+			return;
+		} catch (StackOverflowError e) {
+			failed.increment();
+			listener.onFailure(text, e);
+			return;
+		}
+		compared.increment();
+		if (!sameSentences(expected, fast)) {
+			mismatched.increment();
+			listener.onMismatch(text, expected, fast.asList());
+		}
+	}
+
+	private static boolean sameSentences(List<int[]> expected, SentenceSpans actual) {
+		if (expected.size() != actual.size()) {
+			return false;
+		}
+		for (int i = 0; i < expected.size(); i++) {
+			int[] e = expected.get(i);
+			if (e[1] != actual.index(i) || e[2] != actual.begin(i) || e[3] != actual.end(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+/**
+ * A document that took too long to split, as reported to a
+ * {@link SlowDocumentListener}.
+ */
+public final class SlowDocument {
+
+	private final String id;
+
+	private final int length;
+
+	private final long nanos;
+
+	private final String sample;
+
+	private final SplitterStatistics statistics;
+
+	SlowDocument(String id, int length, long nanos, String sample, SplitterStatistics statistics) {
+		this.id = id;
+		this.length = length;
+		this.nanos = nanos;
+		this.sample = sample;
+		this.statistics = statistics;
+	}
+
+	/** Name the document was split under, or null */
+	public String id() {
+		return id;
+	}
+
+	/** Number of characters in the document */
+	public int length() {
+		return length;
+	}
+
+	/** Time the split took */
+	public long nanos() {
+		return nanos;
+	}
+
+	/** The start of the document, up to the detector's sample length */
+	public String sample() {
+		return sample;
+	}
+
+	/** How the candidate boundaries of the document were decided */
+	public SplitterStatistics statistics() {
+		return statistics;
+	}
+
+	@Override
+	public String toString() {
+		return "SlowDocument[id=" + id + ", length=" + length + ", nanos=" + nanos + ", " + statistics + "]";
+	}
+}
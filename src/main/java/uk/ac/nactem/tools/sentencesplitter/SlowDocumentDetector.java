@@ -0,0 +1,125 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports documents that take longer to split than a threshold, either a
+ * fixed time per document or a time per 1024 characters, to a
+ * {@link SlowDocumentListener}. Install one with
+ * {@link EnglishSentenceSplitter#setSlowDocumentDetector(SlowDocumentDetector)}.
+ * <p>
+ * A report holds the start of the document and the statistics of how its
+ * candidate boundaries were decided. The statistics come from splitting the
+ * document again with the fast backend, which only slow documents pay for.
+ */
+public final class SlowDocumentDetector {
+
+	private static final int DEFAULT_SAMPLE_LENGTH = 1024;
+
+	private static final int KILO = 1024;
+
+	private final long thresholdNanos;
+
+	private final boolean perKilo;
+
+	private final int sampleLength;
+
+	private final SlowDocumentListener listener;
+
+	private final LongAdder reported = new LongAdder();
+
+	private SlowDocumentDetector(long thresholdNanos, boolean perKilo, int sampleLength,
+			SlowDocumentListener listener) {
+		if (thresholdNanos < 0) {
+			throw new IllegalArgumentException("Threshold < 0");
+		}
+		if (sampleLength < 0) {
+			throw new IllegalArgumentException("Sample length < 0");
+		}
+		if (listener == null) {
+			throw new NullPointerException("listener");
+		}
+		this.thresholdNanos = thresholdNanos;
+		this.perKilo = perKilo;
+		this.sampleLength = sampleLength;
+		this.listener = listener;
+	}
+
+	/** Reports documents that take longer than {@code time} to split */
+	public static SlowDocumentDetector perDocument(long time, TimeUnit unit, SlowDocumentListener listener) {
+		return perDocument(time, unit, DEFAULT_SAMPLE_LENGTH, listener);
+	}
+
+	/**
+	 * @param sampleLength
+	 *            most characters of each document to report
+	 */
+	public static SlowDocumentDetector perDocument(long time, TimeUnit unit, int sampleLength,
+			SlowDocumentListener listener) {
+		return new SlowDocumentDetector(unit.toNanos(time), false, sampleLength, listener);
+	}
+
+	/**
+	 * Reports documents that take longer than {@code time} per 1024
+	 * characters to split. Shorter documents are allowed as long as 1024
+	 * characters, so that timer noise on tiny documents is not reported.
+	 */
+	public static SlowDocumentDetector perKilochar(long time, TimeUnit unit, SlowDocumentListener listener) {
+		return perKilochar(time, unit, DEFAULT_SAMPLE_LENGTH, listener);
+	}
+
+	/**
+	 * @param sampleLength
+	 *            most characters of each document to report
+	 */
+	public static SlowDocumentDetector perKilochar(long time, TimeUnit unit, int sampleLength,
+			SlowDocumentListener listener) {
+		return new SlowDocumentDetector(unit.toNanos(time), true, sampleLength, listener);
+	}
+
+	/** Number of documents reported so far */
+	public long reported() {
+		return reported.sum();
+	}
+
+	boolean isSlow(int length, long nanos) {
+		if (!perKilo) {
+			return nanos > thresholdNanos;
+		}
+		return nanos / (double) Math.max(length, KILO) * KILO > thresholdNanos;
+	}
+
+	/** Reports a document split with {@code config}, re-scanning it to count its decisions */
+	void report(EnglishSentenceSplitter splitter, SplitterConfig config, String id, CharSequence text, long nanos) {
+		SplitterStatistics statistics = new SplitterStatistics();
+		BoundaryScanner scanner = splitter.newScanner(config).count(statistics).reset(text, 0, text.length());
+		try {
+			while (scanner.nextBoundary()) {
+			}
+		} finally {
+			scanner.release();
+		}
+		String sample = text.subSequence(0, Math.min(text.length(), sampleLength)).toString();
+		reported.increment();
+		listener.onSlowDocument(new SlowDocument(id, text.length(), nanos, sample, statistics));
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+/**
+ * A Java Flight Recorder event for one whole-document split. This version
+ * records nothing; the multi-release jar replaces it on Java 11 and later
+ * with one that does, from {@code src/main/java11}.
+ */
+class SplitEvent {
+
+	/**
+	 * Starts timing a split, or returns null if the event is not being
+	 * recorded.
+	 */
+	static SplitEvent start() {
+		return null;
+	}
+
+	/**
+	 * Ends the split and commits the event.
+	 *
+	 * @param candidates
+	 *            candidate boundaries decided, or -1 if not counted
+	 */
+	void finish(int length, int sentences, int candidates, EnglishSentenceSplitter.Backend backend) {
+	}
+}
@@ -0,0 +1,298 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The abbreviations, lower-case terms and protected phrases a splitter uses,
+ * compiled once into lexicons and a {@link PhraseMatcher}, or given as
+ * prebuilt lexicons such as a {@link MappedLexicon}. There are no protected
+ * phrases by default.
+ * Instances are immutable and may be shared by any number of splitters and
+ * threads, and swapped into a running splitter with
+ * {@link EnglishSentenceSplitter#setConfig(SplitterConfig)}.
+ * <p>
+ * Lists are read from UTF-8 text with one entry, or phrase, per line; surrounding
+ * whitespace is ignored, as are blank lines and lines starting with
+ * {@code #}.
+ */
+public final class SplitterConfig {
+
+	private static final SplitterConfig DEFAULTS = builder().addDefaults().build();
+
+	private final Lexicon abbreviations;
+
+	private final Lexicon lowerCaseTerms;
+
+	private final PhraseMatcher phrases;
+
+	/** Null unless prefiltering */
+	private final BloomFilter abbreviationFilter;
+
+	private final BloomFilter lowerCaseTermFilter;
+
+	/** The legacy backend over the same lexicons */
+	private final LegacyEngine legacy;
+
+	private SplitterConfig(Builder builder) {
+		this.abbreviations = lexicon(builder.abbreviations, builder.abbreviationLexicon, builder.compact,
+				"abbreviation");
+		this.lowerCaseTerms = lexicon(builder.lowerCaseTerms, builder.lowerCaseTermLexicon, builder.compact,
+				"lower-case term");
+		this.abbreviationFilter = filter(builder.abbreviations, builder.abbreviationLexicon, builder.prefilter);
+		this.lowerCaseTermFilter = filter(builder.lowerCaseTerms, builder.lowerCaseTermLexicon, builder.prefilter);
+		this.phrases = builder.phrases.isEmpty() ? PhraseMatcher.empty() : new PhraseMatcher(builder.phrases);
+		this.legacy = new LegacyEngine(abbreviations, lowerCaseTerms);
+	}
+
+	private static Lexicon lexicon(Set<String> entries, Lexicon prebuilt, boolean compact, String kind) {
+		if (prebuilt == null) {
+			return compact ? new DawgLexicon(entries) : new CompiledLexicon(entries);
+		}
+		if (!entries.isEmpty()) {
+			throw new IllegalStateException("Both " + kind + " entries and a prebuilt " + kind + " lexicon given");
+		}
+		return prebuilt;
+	}
+
+	private static BloomFilter filter(Set<String> entries, Lexicon prebuilt, boolean prefilter) {
+		if (!prefilter) {
+			return null;
+		}
+		return prebuilt == null ? new BloomFilter(entries) : BloomFilter.of(prebuilt);
+	}
+
+	/** The built-in lists, as used by {@link EnglishSentenceSplitter#EnglishSentenceSplitter()} */
+	public static SplitterConfig defaults() {
+		return DEFAULTS;
+	}
+
+	/** Starts a configuration with no entries */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Tokens ending a sentence candidate that do not end a sentence, as they
+	 * are or in lower case
+	 */
+	public Lexicon abbreviations() {
+		return abbreviations;
+	}
+
+	/** Tokens that start a sentence even though they start in lower case */
+	public Lexicon lowerCaseTerms() {
+		return lowerCaseTerms;
+	}
+
+	/**
+	 * Phrases of two or more tokens, such as "et al.", inside which and
+	 * straight after which sentences are not split
+	 */
+	public PhraseMatcher phrases() {
+		return phrases;
+	}
+
+	LegacyEngine legacy() {
+		return legacy;
+	}
+
+	BloomFilter abbreviationFilter() {
+		return abbreviationFilter;
+	}
+
+	BloomFilter lowerCaseTermFilter() {
+		return lowerCaseTermFilter;
+	}
+
+	/** Collects entries for a {@link SplitterConfig}; not thread-safe */
+	public static final class Builder {
+
+		private final Set<String> abbreviations = new HashSet<String>();
+
+		private final Set<String> lowerCaseTerms = new HashSet<String>();
+
+		private final Set<String> phrases = new HashSet<String>();
+
+		private Lexicon abbreviationLexicon;
+
+		private Lexicon lowerCaseTermLexicon;
+
+		private boolean compact;
+
+		private boolean prefilter;
+
+		private Builder() {
+		}
+
+		/** Adds the built-in abbreviations and lower-case terms */
+		public Builder addDefaults() {
+			abbreviations.addAll(EnglishSentenceSplitter.ABBREVIATIONS);
+			lowerCaseTerms.addAll(EnglishSentenceSplitter.LOWERCASETERMS);
+			return this;
+		}
+
+		public Builder addAbbreviations(Collection<String> entries) {
+			abbreviations.addAll(entries);
+			return this;
+		}
+
+		public Builder loadAbbreviations(Path file) throws IOException {
+			return loadAbbreviations(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+		}
+
+		/** Loads from a URL, such as one from {@link Class#getResource(String)} */
+		public Builder loadAbbreviations(URL resource) throws IOException {
+			return loadAbbreviations(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8));
+		}
+
+		/** Reads entries from {@code in}, and closes it */
+		public Builder loadAbbreviations(Reader in) throws IOException {
+			readEntries(in, abbreviations);
+			return this;
+		}
+
+		/**
+		 * Uses {@code lexicon} for abbreviations, in place of any added
+		 * entries.
+		 */
+		public Builder useAbbreviations(Lexicon lexicon) {
+			abbreviationLexicon = lexicon;
+			return this;
+		}
+
+		public Builder addLowerCaseTerms(Collection<String> entries) {
+			lowerCaseTerms.addAll(entries);
+			return this;
+		}
+
+		public Builder loadLowerCaseTerms(Path file) throws IOException {
+			return loadLowerCaseTerms(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+		}
+
+		/** Loads from a URL, such as one from {@link Class#getResource(String)} */
+		public Builder loadLowerCaseTerms(URL resource) throws IOException {
+			return loadLowerCaseTerms(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8));
+		}
+
+		/** Reads entries from {@code in}, and closes it */
+		public Builder loadLowerCaseTerms(Reader in) throws IOException {
+			readEntries(in, lowerCaseTerms);
+			return this;
+		}
+
+		/**
+		 * Uses {@code lexicon} for lower-case terms, in place of any added
+		 * entries.
+		 */
+		public Builder useLowerCaseTerms(Lexicon lexicon) {
+			lowerCaseTermLexicon = lexicon;
+			return this;
+		}
+
+		/**
+		 * Adds phrases, such as "et al." or "U. S. A.", inside which sentences
+		 * are not split; nor are they split after a phrase, so "et al. Found"
+		 * stays in one sentence. Phrases match whole tokens, ignoring case,
+		 * with any whitespace between tokens. They are not supported by the
+		 * legacy backend.
+		 */
+		public Builder addPhrases(Collection<String> entries) {
+			phrases.addAll(entries);
+			return this;
+		}
+
+		public Builder loadPhrases(Path file) throws IOException {
+			return loadPhrases(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+		}
+
+		/** Loads from a URL, such as one from {@link Class#getResource(String)} */
+		public Builder loadPhrases(URL resource) throws IOException {
+			return loadPhrases(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8));
+		}
+
+		/** Reads phrases from {@code in}, and closes it */
+		public Builder loadPhrases(Reader in) throws IOException {
+			readEntries(in, phrases);
+			return this;
+		}
+
+		/**
+		 * Compiles lists into {@link DawgLexicon}s rather than
+		 * {@link CompiledLexicon}s: a fraction of the memory for lists of
+		 * hundreds of thousands of entries, for somewhat slower lookups.
+		 */
+		public Builder compact() {
+			compact = true;
+			return this;
+		}
+
+		/**
+		 * Puts a Bloom filter in front of each list, so that most tokens that
+		 * are not entries are turned away without a lookup. This pays off for
+		 * large lists, particularly with {@link #compact()}. Prebuilt
+		 * {@link MappedLexicon}s, {@link CompiledLexicon}s and
+		 * {@link DawgLexicon}s are filtered too, the filter being built from
+		 * their entries; other lexicons are not. How often the filter answers
+		 * alone is counted by {@link SplitterStatistics}.
+		 */
+		public Builder prefilter() {
+			prefilter = true;
+			return this;
+		}
+
+		/**
+		 * Compiles the entries collected so far.
+		 *
+		 * @throws IllegalStateException
+		 *             if entries of a kind were both added and given as a
+		 *             prebuilt lexicon
+		 */
+		public SplitterConfig build() {
+			return new SplitterConfig(this);
+		}
+	}
+
+	/** Reads a list in the format above into {@code entries}, and closes {@code in} */
+	static void readEntries(Reader in, Collection<String> entries) throws IOException {
+		BufferedReader reader = new BufferedReader(in);
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.length() > 0 && line.charAt(0) != '#') {
+					entries.add(line);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+/**
+ * Management interface of {@link SplitterMetrics}. Latencies are in
+ * nanoseconds; the arrays hold one element per document-size bucket, in the
+ * order of {@link #getSizeBuckets()}.
+ */
+public interface SplitterMXBean {
+
+	long getDocuments();
+
+	long getCharacters();
+
+	long getSentences();
+
+	/**
+	 * Names of the document-size buckets, e.g. "1K-10K" characters, K and M
+	 * being 1024 and 1024 * 1024
+	 */
+	String[] getSizeBuckets();
+
+	long[] getDocumentsBySize();
+
+	long[] getLatencyP50Nanos();
+
+	long[] getLatencyP99Nanos();
+
+	long[] getLatencyMaxNanos();
+
+	/** Configs swapped into splitters with these metrics */
+	long getConfigSwaps();
+
+	/** When the last config was swapped in, in milliseconds since the epoch, or 0 */
+	long getLastConfigSwapMillis();
+
+	/** Abbreviations in the config last swapped in, or -1 */
+	int getSwappedAbbreviations();
+
+	/** Lower-case terms in the config last swapped in, or -1 */
+	int getSwappedLowerCaseTerms();
+
+	/** Sets every count and histogram to zero */
+	void reset();
+}
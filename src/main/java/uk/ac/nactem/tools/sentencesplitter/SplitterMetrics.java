@@ -0,0 +1,192 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Throughput and latency of the splitters given it with
+ * {@link EnglishSentenceSplitter#setMetrics(SplitterMetrics)}, published
+ * over JMX by {@link #register(String)}. Every whole-document split is
+ * recorded: those by {@code markupRawText}, {@code sentenceOffsets},
+ * {@code split}, {@code splitParagraph}, {@code splitParallel} and
+ * {@code splitAll}, with either backend. Configs swapped in with
+ * {@link EnglishSentenceSplitter#setConfig(SplitterConfig)} are recorded too.
+ * Recording takes no locks.
+ */
+public class SplitterMetrics implements SplitterMXBean {
+
+	/** JMX domain that metrics are registered under */
+	public static final String DOMAIN = "uk.ac.nactem.tools.sentencesplitter";
+
+	/** K and M are 1024 and 1024 * 1024 characters */
+	private static final String[] SIZE_BUCKETS = { "<1K", "1K-10K", "10K-100K", "100K-1M", ">=1M" };
+
+	/** The lower limit of each size bucket but the first */
+	private static final int[] SIZE_LIMITS = { 1 << 10, 10 << 10, 100 << 10, 1 << 20 };
+
+	private final LongAdder documents = new LongAdder();
+
+	private final LongAdder characters = new LongAdder();
+
+	private final LongAdder sentences = new LongAdder();
+
+	private final LatencyHistogram[] latencies = new LatencyHistogram[SIZE_BUCKETS.length];
+
+	private final LongAdder configSwaps = new LongAdder();
+
+	private volatile long lastConfigSwap;
+
+	private volatile int swappedAbbreviations = -1;
+
+	private volatile int swappedLowerCaseTerms = -1;
+
+	private ObjectName name;
+
+	public SplitterMetrics() {
+		for (int i = 0; i < latencies.length; i++) {
+			latencies[i] = new LatencyHistogram();
+		}
+	}
+
+	/**
+	 * Registers with the platform MBean server as
+	 * {@code uk.ac.nactem.tools.sentencesplitter:type=EnglishSentenceSplitter,name=}{@code name}.
+	 */
+	public synchronized ObjectName register(String name) throws JMException {
+		if (this.name != null) {
+			throw new IllegalStateException("Already registered as " + this.name);
+		}
+		ObjectName objectName = new ObjectName(DOMAIN + ":type=EnglishSentenceSplitter,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		this.name = objectName;
+		return objectName;
+	}
+
+	public synchronized void unregister() throws JMException {
+		if (name != null) {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			server.unregisterMBean(name);
+			name = null;
+		}
+	}
+
+	/** Records one document of {@code length} characters */
+	void record(int length, int sentences, long nanos) {
+		documents.increment();
+		characters.add(length);
+		this.sentences.add(sentences);
+		latencies[bucket(length)].record(nanos);
+	}
+
+	/** Records that {@code config} was swapped into a splitter */
+	void configSwapped(SplitterConfig config) {
+		swappedAbbreviations = config.abbreviations().size();
+		swappedLowerCaseTerms = config.lowerCaseTerms().size();
+		lastConfigSwap = System.currentTimeMillis();
+		configSwaps.increment();
+	}
+
+	static int bucket(int length) {
+		int bucket = 0;
+		while (bucket < SIZE_LIMITS.length && length >= SIZE_LIMITS[bucket]) {
+			bucket++;
+		}
+		return bucket;
+	}
+
+	public long getDocuments() {
+		return documents.sum();
+	}
+
+	public long getCharacters() {
+		return characters.sum();
+	}
+
+	public long getSentences() {
+		return sentences.sum();
+	}
+
+	public String[] getSizeBuckets() {
+		return SIZE_BUCKETS.clone();
+	}
+
+	public long[] getDocumentsBySize() {
+		long[] result = new long[latencies.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = latencies[i].count();
+		}
+		return result;
+	}
+
+	public long[] getLatencyP50Nanos() {
+		return percentiles(0.5);
+	}
+
+	public long[] getLatencyP99Nanos() {
+		return percentiles(0.99);
+	}
+
+	public long[] getLatencyMaxNanos() {
+		long[] result = new long[latencies.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = latencies[i].max();
+		}
+		return result;
+	}
+
+	public long getConfigSwaps() {
+		return configSwaps.sum();
+	}
+
+	public long getLastConfigSwapMillis() {
+		return lastConfigSwap;
+	}
+
+	public int getSwappedAbbreviations() {
+		return swappedAbbreviations;
+	}
+
+	public int getSwappedLowerCaseTerms() {
+		return swappedLowerCaseTerms;
+	}
+
+	private long[] percentiles(double fraction) {
+		long[] result = new long[latencies.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = latencies[i].percentile(fraction);
+		}
+		return result;
+	}
+
+	public void reset() {
+		documents.reset();
+		characters.reset();
+		sentences.reset();
+		configSwaps.reset();
+		for (LatencyHistogram latency : latencies) {
+			latency.reset();
+		}
+	}
+}
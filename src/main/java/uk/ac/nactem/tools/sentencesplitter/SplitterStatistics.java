@@ -0,0 +1,167 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how candidate sentence boundaries are decided, for a splitter given
+ * it with {@link EnglishSentenceSplitter#setStatistics(SplitterStatistics)}.
+ * Each candidate is counted once, under the first rule that decides it, in
+ * the order the rules are tried. Counts are kept per scan and added here when
+ * the scan ends, so threads hardly ever contend. Only the fast backend counts;
+ * a parallel split may count a few extra candidates where it cuts a token in
+ * two.
+ */
+public final class SplitterStatistics {
+
+	static final int CANDIDATES = 0;
+
+	static final int LOWER_CASE_TERMS = 1;
+
+	static final int RULE0 = 2;
+
+	static final int RULE1 = 3;
+
+	static final int EWORDS = 4;
+
+	static final int RULE2 = 5;
+
+	static final int ABBREVIATIONS = 6;
+
+	static final int SPLITS = 7;
+
+	static final int PHRASES = 8;
+
+	static final int PREFILTER_QUERIES = 9;
+
+	static final int PREFILTER_SKIPS = 10;
+
+	static final int PREFILTER_FALSE_POSITIVES = 11;
+
+	static final int COUNTERS = 12;
+
+	private final LongAdder[] counters = new LongAdder[COUNTERS];
+
+	public SplitterStatistics() {
+		for (int i = 0; i < COUNTERS; i++) {
+			counters[i] = new LongAdder();
+		}
+	}
+
+	/** Tokens that could end a sentence */
+	public long candidates() {
+		return counters[CANDIDATES].sum();
+	}
+
+	/** Splits because the next token is a lower-case term such as "mRNA" */
+	public long lowerCaseTerms() {
+		return counters[LOWER_CASE_TERMS].sum();
+	}
+
+	/** Splits after [.!?] followed by right bracketing */
+	public long rule0() {
+		return counters[RULE0].sum();
+	}
+
+	/** Splits after [!?] */
+	public long rule1() {
+		return counters[RULE1].sum();
+	}
+
+	/** Splits because the next token is an eWord such as "eScience" */
+	public long eWords() {
+		return counters[EWORDS].sum();
+	}
+
+	/** Candidates kept because the next token starts in lower case */
+	public long rule2() {
+		return counters[RULE2].sum();
+	}
+
+	/** Candidates kept because they are abbreviations */
+	public long abbreviations() {
+		return counters[ABBREVIATIONS].sum();
+	}
+
+	/** Splits made because no rule kept the candidate */
+	public long defaultSplits() {
+		return counters[SPLITS].sum();
+	}
+
+	/**
+	 * Candidates that would have been split but are inside a protected
+	 * phrase or end one
+	 */
+	public long phrases() {
+		return counters[PHRASES].sum();
+	}
+
+	/**
+	 * Lexicon lookups that went to a prefilter, for a config built with
+	 * {@link SplitterConfig.Builder#prefilter()}
+	 */
+	public long prefilterQueries() {
+		return counters[PREFILTER_QUERIES].sum();
+	}
+
+	/** Prefiltered lookups answered by the prefilter alone */
+	public long prefilterSkips() {
+		return counters[PREFILTER_SKIPS].sum();
+	}
+
+	/** Prefiltered lookups the prefilter passed that were not entries */
+	public long prefilterFalsePositives() {
+		return counters[PREFILTER_FALSE_POSITIVES].sum();
+	}
+
+	/**
+	 * Fraction of prefiltered lookups the prefilter answered alone, or 0 if
+	 * there were none
+	 */
+	public double prefilterSkipRate() {
+		long queries = prefilterQueries();
+		return queries == 0 ? 0 : (double) prefilterSkips() / queries;
+	}
+
+	/** Sets every count to zero */
+	public void reset() {
+		for (LongAdder counter : counters) {
+			counter.reset();
+		}
+	}
+
+	/** Adds the counts of one scan, indexed by the constants above */
+	void add(int[] counts) {
+		for (int i = 0; i < COUNTERS; i++) {
+			if (counts[i] != 0) {
+				counters[i].add(counts[i]);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "candidates=" + candidates() + ", lowerCaseTerms=" + lowerCaseTerms() + ", rule0=" + rule0()
+				+ ", rule1=" + rule1() + ", eWords=" + eWords() + ", rule2=" + rule2() + ", abbreviations="
+				+ abbreviations() + ", defaultSplits=" + defaultSplits() + ", phrases=" + phrases()
+				+ ", prefilterQueries=" + prefilterQueries() + ", prefilterSkips=" + prefilterSkips()
+				+ ", prefilterFalsePositives=" + prefilterFalsePositives();
+	}
+}
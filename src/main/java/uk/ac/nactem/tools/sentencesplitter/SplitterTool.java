@@ -0,0 +1,343 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits documents from the command line and writes one line per sentence:
+ * the document, paragraph index, sentence index, and begin and end offsets,
+ * as tab separated values or as JSON lines. Offsets count UTF-16 code units
+ * of the decoded text, as everywhere else in this package.
+ * <p>
+ * Each file named is one document, directories are searched for files, and
+ * {@code -}, the default, is standard input. Files are read as UTF-8 and
+ * split on a pool of worker threads, and results are written in the order
+ * the documents were named. Totals and throughput
+ * go to standard error at the end. The exit status is 1 if any document
+ * could not be read, and 2 for a usage error.
+ */
+public class SplitterTool {
+
+	private static final String USAGE = "Usage: SplitterTool [options] [file or directory...]\n"
+			+ "  -t, --threads N           worker threads (default: available processors)\n"
+			+ "  -f, --format tsv|jsonl    output format (default: tsv)\n"
+			+ "  -o, --output FILE         write to FILE instead of standard output\n"
+			+ "  -b, --backend fast|legacy splitter backend (default: fast)\n"
+			+ "      --abbreviations FILE  more abbreviations, one per line\n"
+			+ "      --lower-case-terms FILE  more lower-case terms, one per line\n"
+			+ "      --phrases FILE        protected phrases, one per line";
+
+	/** Documents read ahead of the writer, per worker */
+	private static final int QUEUED_PER_WORKER = 4;
+
+	private final EnglishSentenceSplitter splitter;
+
+	private final boolean json;
+
+	private int documents;
+
+	private int failures;
+
+	private long sentences;
+
+	private long characters;
+
+	private long bytes;
+
+	/**
+	 * @param json
+	 *            whether to write JSON lines rather than tab separated values
+	 */
+	public SplitterTool(EnglishSentenceSplitter splitter, boolean json) {
+		this.splitter = splitter;
+		this.json = json;
+	}
+
+	/**
+	 * Splits the named files and directories, {@code -} being standard input,
+	 * on {@code threads} workers, writing to {@code out}.
+	 */
+	public void run(List<String> names, int threads, Writer out) throws IOException, InterruptedException {
+		List<File> files = new ArrayList<File>();
+		for (String name : names) {
+			DocumentFiles.collect(new File(name), files);
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			/* A window of documents in flight, written in order as they finish */
+			Deque<Future<Result>> pending = new ArrayDeque<Future<Result>>();
+			for (final File file : files) {
+				if (pending.size() >= threads * QUEUED_PER_WORKER) {
+					write(pending.removeFirst(), out);
+				}
+				pending.add(pool.submit(new Callable<Result>() {
+					public Result call() throws IOException {
+						String name = file.getPath();
+						return split(name, name.equals("-") ? DocumentFiles.read(System.in)
+								: Files.readAllBytes(file.toPath()));
+					}
+				}));
+			}
+			while (!pending.isEmpty()) {
+				write(pending.removeFirst(), out);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/** Prints the totals so far, and the throughput over {@code nanos} */
+	public void summarise(long nanos, PrintStream err) {
+		double seconds = Math.max(nanos, 1) / 1e9;
+		err.println(documents + " documents, " + sentences + " sentences, " + characters + " characters in "
+				+ String.format("%.3f", seconds) + " s (" + String.format("%.1f", documents / seconds) + " documents/s, "
+				+ String.format("%.2f", bytes / seconds / 1e6) + " MB/s, "
+				+ String.format("%.0f", sentences / seconds) + " sentences/s)"
+				+ (failures > 0 ? ", " + failures + " failed" : ""));
+	}
+
+	public boolean hasFailures() {
+		return failures > 0;
+	}
+
+	/** Splits one document and formats its sentences; runs on a worker */
+	private Result split(String id, byte[] content) {
+		String text = new String(content, StandardCharsets.UTF_8);
+		SentenceSpans spans = new SentenceSpans();
+		splitter.split(id, text, spans);
+		StringBuilder lines = new StringBuilder(spans.size() * 32);
+		String name = json ? jsonString(id) : tsvField(id);
+		for (int i = 0; i < spans.size(); i++) {
+			if (json) {
+				lines.append("{\"doc\":").append(name).append(",\"paragraph\":").append(spans.paragraph(i))
+						.append(",\"sentence\":").append(spans.index(i)).append(",\"begin\":").append(spans.begin(i))
+						.append(",\"end\":").append(spans.end(i)).append("}\n");
+			} else {
+				lines.append(name).append('\t').append(spans.paragraph(i)).append('\t').append(spans.index(i))
+						.append('\t').append(spans.begin(i)).append('\t').append(spans.end(i)).append('\n');
+			}
+		}
+		return new Result(lines, spans.size(), text.length(), content.length);
+	}
+
+	private void write(Future<Result> future, Writer out) throws IOException, InterruptedException {
+		try {
+			write(future.get(), out);
+		} catch (ExecutionException e) {
+			failures++;
+			System.err.println(e.getCause());
+		}
+	}
+
+	private void write(Result result, Writer out) throws IOException {
+		out.append(result.lines);
+		documents++;
+		sentences += result.sentences;
+		characters += result.characters;
+		bytes += result.bytes;
+	}
+
+	/** Escapes the characters that would break a TSV line */
+	private static String tsvField(String s) {
+		return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String jsonString(String s) {
+		StringBuilder b = new StringBuilder(s.length() + 2).append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				b.append('\\').append(c);
+			} else if (c < ' ') {
+				b.append(String.format("\\u%04x", (int) c));
+			} else {
+				b.append(c);
+			}
+		}
+		return b.append('"').toString();
+	}
+
+	/** The formatted sentences of one document */
+	private static final class Result {
+
+		final CharSequence lines;
+
+		final int sentences;
+
+		final int characters;
+
+		final int bytes;
+
+		Result(CharSequence lines, int sentences, int characters, int bytes) {
+			this.lines = lines;
+			this.sentences = sentences;
+			this.characters = characters;
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * The command line, parsed without side effects other than reading the
+	 * lists it names
+	 */
+	static final class Options {
+
+		int threads = Runtime.getRuntime().availableProcessors();
+
+		boolean json;
+
+		String output;
+
+		EnglishSentenceSplitter.Backend backend = EnglishSentenceSplitter.Backend.FAST;
+
+		SplitterConfig config;
+
+		final List<String> names = new ArrayList<String>();
+
+		/**
+		 * @throws UsageException
+		 *             if the command line is not understood, or help is asked
+		 *             for
+		 */
+		static Options parse(String[] argv) throws UsageException, IOException {
+			Options options = new Options();
+			SplitterConfig.Builder config = SplitterConfig.builder().addDefaults();
+			boolean phrases = false;
+			for (int i = 0; i < argv.length; i++) {
+				String arg = argv[i];
+				if (!arg.startsWith("-") || arg.equals("-")) {
+					options.names.add(arg);
+					continue;
+				}
+				if (arg.equals("-h") || arg.equals("--help")) {
+					throw new UsageException(null);
+				}
+				if (i + 1 == argv.length) {
+					throw new UsageException("Missing value for " + arg);
+				}
+				String value = argv[++i];
+				if (arg.equals("-t") || arg.equals("--threads")) {
+					try {
+						options.threads = Integer.parseInt(value);
+					} catch (NumberFormatException e) {
+						options.threads = 0;
+					}
+					if (options.threads < 1) {
+						throw new UsageException("Bad thread count: " + value);
+					}
+				} else if (arg.equals("-f") || arg.equals("--format")) {
+					if (!value.equals("tsv") && !value.equals("jsonl")) {
+						throw new UsageException("Unknown format: " + value);
+					}
+					options.json = value.equals("jsonl");
+				} else if (arg.equals("-o") || arg.equals("--output")) {
+					options.output = value;
+				} else if (arg.equals("-b") || arg.equals("--backend")) {
+					try {
+						options.backend = EnglishSentenceSplitter.Backend.valueOf(value.toUpperCase());
+					} catch (IllegalArgumentException e) {
+						throw new UsageException("Unknown backend: " + value);
+					}
+				} else if (arg.equals("--abbreviations")) {
+					config.loadAbbreviations(new File(value).toPath());
+				} else if (arg.equals("--lower-case-terms")) {
+					config.loadLowerCaseTerms(new File(value).toPath());
+				} else if (arg.equals("--phrases")) {
+					config.loadPhrases(new File(value).toPath());
+					phrases = true;
+				} else {
+					throw new UsageException("Unknown option: " + arg);
+				}
+			}
+			if (phrases && options.backend == EnglishSentenceSplitter.Backend.LEGACY) {
+				throw new UsageException("The legacy backend does not support --phrases");
+			}
+			if (options.names.isEmpty()) {
+				options.names.add("-");
+			}
+			options.config = config.build();
+			return options;
+		}
+	}
+
+	/** A command line that is not understood; the message, if any, says why */
+	static final class UsageException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		UsageException(String problem) {
+			super(problem);
+		}
+	}
+
+	private static void usage(String problem) {
+		if (problem != null) {
+			System.err.println(problem);
+		}
+		System.err.println(USAGE);
+		System.exit(2);
+	}
+
+	public static void main(String[] argv) throws Exception {
+		Options options;
+		try {
+			options = Options.parse(argv);
+		} catch (UsageException e) {
+			usage(e.getMessage());
+			return;
+		}
+
+		long started = System.nanoTime();
+		SplitterTool tool = new SplitterTool(new EnglishSentenceSplitter(options.config, options.backend),
+				options.json);
+		OutputStream stream = options.output == null ? System.out : new FileOutputStream(options.output);
+		Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16);
+		try {
+			tool.run(options.names, options.threads, out);
+		} finally {
+			out.flush();
+			if (options.output != null) {
+				out.close();
+			}
+		}
+		tool.summarise(System.nanoTime() - started, System.err);
+		if (tool.hasFailures()) {
+			System.exit(1);
+		}
+	}
+}
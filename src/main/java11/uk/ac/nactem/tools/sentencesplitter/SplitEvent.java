@@ -0,0 +1,77 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event for one whole-document split, used in place
+ * of the Java 8 version on Java 11 and later. Nothing is allocated unless a
+ * recording has the event enabled. Splits shorter than the threshold, 1 ms
+ * unless a recording sets another, are not committed.
+ */
+@Name("uk.ac.nactem.tools.sentencesplitter.SentenceSplit")
+@Label("Sentence Split")
+@Category({ "NaCTeM", "Sentence Splitter" })
+@Description("Splitting one document into sentences")
+@Threshold("1 ms")
+class SplitEvent extends Event {
+
+	private static final EventType TYPE = EventType.getEventType(SplitEvent.class);
+
+	@Label("Document Length")
+	@Description("Characters in the document")
+	int length;
+
+	@Label("Sentences")
+	int sentences;
+
+	@Label("Candidates")
+	@Description("Candidate boundaries decided, or -1 if not counted")
+	int candidates;
+
+	@Label("Backend")
+	String backend;
+
+	static SplitEvent start() {
+		if (!TYPE.isEnabled()) {
+			return null;
+		}
+		SplitEvent event = new SplitEvent();
+		event.begin();
+		return event;
+	}
+
+	void finish(int length, int sentences, int candidates, EnglishSentenceSplitter.Backend backend) {
+		end();
+		if (shouldCommit()) {
+			this.length = length;
+			this.sentences = sentences;
+			this.candidates = candidates;
+			this.backend = backend.name();
+			commit();
+		}
+	}
+}
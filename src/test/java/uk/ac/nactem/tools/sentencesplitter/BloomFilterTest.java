@@ -0,0 +1,171 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Checks that a Bloom filter never turns away an entry, in either case,
+ * turns away most non-entries, is built alike from entries and from prebuilt
+ * lexicons, and that the lookups it answers are counted.
+ */
+public class BloomFilterTest {
+
+	@Test
+	public void neverTurnsAwayAnEntry() {
+		List<String> entries = words(new Random(23), 20000);
+		BloomFilter filter = new BloomFilter(entries);
+		for (String entry : entries) {
+			String text = "(" + entry + ")";
+			assertTrue(entry, filter.mightContain(text, 1, text.length() - 1));
+			assertTrue(entry, filter.mightContain(entry.toUpperCase(), 0, entry.length()));
+			assertTrue(entry, filter.mightContain(entry.toLowerCase(), 0, entry.length()));
+		}
+	}
+
+	@Test
+	public void turnsAwayMostNonEntries() {
+		Random random = new Random(24);
+		List<String> entries = words(random, 20000);
+		BloomFilter filter = new BloomFilter(entries);
+		Set<String> folded = new HashSet<String>();
+		for (String entry : entries) {
+			folded.add(CompiledLexicon.lowerCase(entry));
+		}
+		int probes = 0;
+		int passed = 0;
+		for (String word : words(random, 100000)) {
+			if (!folded.contains(CompiledLexicon.lowerCase(word))) {
+				probes++;
+				if (filter.mightContain(word, 0, word.length())) {
+					passed++;
+				}
+			}
+		}
+		/* About one in a hundred is expected */
+		assertTrue(passed + " of " + probes, passed < probes / 40);
+		assertFalse(filter.mightContain("longer than any entry", 0, 21));
+	}
+
+	@Test
+	public void builtAlikeFromPrebuiltLexicons() throws IOException {
+		Random random = new Random(25);
+		List<String> entries = words(random, 5000);
+		entries.add("Dr.");
+		entries.add("dr.");
+		File file = File.createTempFile("lexicon", ".lex");
+		try {
+			Path path = file.toPath();
+			MappedLexicon.write(entries, path);
+			BloomFilter expected = new BloomFilter(entries);
+			List<BloomFilter> filters = Arrays.asList(BloomFilter.of(new CompiledLexicon(entries)),
+					BloomFilter.of(new DawgLexicon(entries)), BloomFilter.of(MappedLexicon.open(path)));
+			List<String> probes = words(random, 20000);
+			probes.addAll(entries);
+			for (BloomFilter filter : filters) {
+				for (String probe : probes) {
+					assertEquals(probe, expected.mightContain(probe, 0, probe.length()),
+							filter.mightContain(probe, 0, probe.length()));
+				}
+			}
+		} finally {
+			file.delete();
+		}
+		assertNull(BloomFilter.of(new Lexicon() {
+			public boolean contains(CharSequence text, int start, int end) {
+				return false;
+			}
+
+			public boolean containsFolded(CharSequence text, int start, int end) {
+				return false;
+			}
+
+			public int size() {
+				return 0;
+			}
+		}));
+	}
+
+	@Test
+	public void countsPrefilteredLookups() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			text.append("Dr. Smith saw item ").append(i).append(". mRNA rose. ");
+		}
+		File file = File.createTempFile("abbreviations", ".lex");
+		try {
+			Path path = file.toPath();
+			MappedLexicon.write(EnglishSentenceSplitter.ABBREVIATIONS, path);
+			SplitterConfig.Builder builder = SplitterConfig.builder().useAbbreviations(MappedLexicon.open(path))
+					.addLowerCaseTerms(EnglishSentenceSplitter.LOWERCASETERMS);
+			SplitterConfig plain = builder.build();
+			SplitterConfig prefiltered = builder.prefilter().build();
+			assertNull(plain.abbreviationFilter());
+			assertTrue(prefiltered.abbreviationFilter() != null);
+			assertTrue(prefiltered.lowerCaseTermFilter() != null);
+
+			SplitterStatistics statistics = new SplitterStatistics();
+			EnglishSentenceSplitter splitter = new EnglishSentenceSplitter(prefiltered);
+			splitter.setStatistics(statistics);
+			SentenceSpans spans = RandomText.split(splitter, text);
+			assertEquals(RandomText.describe(RandomText.split(new EnglishSentenceSplitter(plain), text)),
+					RandomText.describe(spans));
+			assertEquals(RandomText.describe(RandomText.split(new EnglishSentenceSplitter(), text)),
+					RandomText.describe(spans));
+			/*
+			 * Each candidate asks about its next token, and all but those
+			 * before "mRNA" about an abbreviation
+			 */
+			assertEquals(2 * statistics.candidates() - 1000, statistics.prefilterQueries());
+			assertTrue(statistics.toString(), statistics.prefilterSkips() >= 2000);
+			assertTrue(statistics.toString(),
+					statistics.prefilterSkips() + statistics.prefilterFalsePositives() <= statistics.prefilterQueries());
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static List<String> words(Random random, int n) {
+		String letters = "abcdefghijklmnopqrstuvwxyzABCXYZ.-é";
+		List<String> words = new ArrayList<String>();
+		for (int i = 0; i < n; i++) {
+			StringBuilder word = new StringBuilder();
+			for (int length = 2 + random.nextInt(8); length > 0; length--) {
+				word.append(letters.charAt(random.nextInt(letters.length())));
+			}
+			words.add(word.toString());
+		}
+		return words;
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks that the single pass scanner finds the sentences the original
+ * regular expression splitter finds.
+ */
+public class BoundaryScannerTest {
+
+	private final LegacyEngine legacy = SplitterConfig.defaults().legacy();
+
+	private final BoundaryScanner scanner = new BoundaryScanner(SplitterConfig.defaults());
+
+	@Test
+	public void examples() {
+		assertSameAsLegacy("Dr. Smith went to Washington. He arrived on Jan. 3rd!");
+		assertSameAsLegacy("See Fig. 2 and (Fig. 3)? The mRNA was up. eScience is here.");
+		assertSameAsLegacy("\"Stop.\" He said so. U.S.A. and e.g. these. Why? Because.");
+		assertSameAsLegacy("First paragraph ends here.\n\nSecond one starts.\r\n\r\nThird. ");
+		assertSameAsLegacy("Trailing blanks.   \t ");
+		assertSameAsLegacy(" ");
+		assertSameAsLegacy("");
+	}
+
+	@Test
+	public void randomTexts() {
+		RandomText texts = new RandomText(1);
+		for (int i = 0; i < 50000; i++) {
+			assertSameAsLegacy(texts.next(25));
+		}
+	}
+
+	@Test
+	public void longRandomTexts() {
+		RandomText texts = new RandomText(2);
+		for (int i = 0; i < 200; i++) {
+			assertSameAsLegacy(texts.next(1000));
+		}
+	}
+
+	private void assertSameAsLegacy(String text) {
+		List<String> expected = legacy.splitParagraph(text);
+		List<String> actual = new ArrayList<String>();
+		scanner.reset(text, 0, text.length());
+		try {
+			while (scanner.next()) {
+				actual.add(text.substring(scanner.begin(), scanner.end()));
+			}
+			if (scanner.blankTail()) {
+				actual.add("");
+			}
+		} finally {
+			scanner.release();
+		}
+		assertEquals(RandomText.escape(text), escape(expected), escape(actual));
+	}
+
+	private static List<String> escape(List<String> sentences) {
+		String[] escaped = new String[sentences.size()];
+		for (int i = 0; i < escaped.length; i++) {
+			escaped[i] = RandomText.escape(sentences.get(i));
+		}
+		return Arrays.asList(escaped);
+	}
+}
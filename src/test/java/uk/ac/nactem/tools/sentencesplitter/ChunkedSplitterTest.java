@@ -0,0 +1,152 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that splitting a text in chunks gives the sentences of a single
+ * scan wherever the chunks are cut, including inside tokens and inside
+ * whitespace runs that are paragraph breaks.
+ */
+public class ChunkedSplitterTest {
+
+	private static ForkJoinPool pool;
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	private final SplitterConfig config = SplitterConfig.defaults();
+
+	@BeforeClass
+	public static void startPool() {
+		pool = new ForkJoinPool(2);
+	}
+
+	@AfterClass
+	public static void stopPool() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void examples() {
+		String text = "Dr. Smith went to Washington.\n\nHe arrived on Jan. 3rd!  Then he left.\r\n\r\nThe end.";
+		for (int at = 1; at < text.length(); at++) {
+			for (int next = at + 1; next < text.length(); next++) {
+				assertSameAsSplit(text, 0, at, next, text.length());
+			}
+		}
+	}
+
+	@Test
+	public void everySingleCut() {
+		RandomText texts = new RandomText(3);
+		for (int i = 0; i < 2000; i++) {
+			String text = texts.next(40);
+			for (int at = 1; at < text.length(); at++) {
+				assertSameAsSplit(text, 0, at, text.length());
+			}
+		}
+	}
+
+	@Test
+	public void cutsInsideTokens() {
+		RandomText texts = new RandomText(4);
+		for (int i = 0; i < 2000; i++) {
+			String text = texts.next(60);
+			assertSameAsSplit(text, cuts(texts.random(), text, false));
+		}
+	}
+
+	@Test
+	public void cutsInsideWhitespaceRuns() {
+		RandomText texts = new RandomText(5);
+		for (int i = 0; i < 2000; i++) {
+			String text = texts.next(60);
+			assertSameAsSplit(text, cuts(texts.random(), text, true));
+		}
+	}
+
+	@Test
+	public void severalCutsInOneParagraphBreak() {
+		String text = "First paragraph ends here. \n \n\r\n  Second one starts. And ends.";
+		int run = text.indexOf(' ', text.indexOf("here."));
+		int runEnd = text.indexOf('S');
+		for (int at = run; at <= runEnd; at++) {
+			for (int next = at + 1; next <= runEnd; next++) {
+				assertSameAsSplit(text, 0, at, next, text.length());
+			}
+		}
+	}
+
+	/**
+	 * Cuts at random offsets where both neighbouring characters are
+	 * whitespace, or where neither is
+	 */
+	private static int[] cuts(Random random, String text, boolean inSpace) {
+		int[] cuts = new int[2 + random.nextInt(6)];
+		int found = 1;
+		for (int tries = 0; tries < 100 && found + 1 < cuts.length; tries++) {
+			int at = 1 + random.nextInt(Math.max(text.length() - 1, 1));
+			if (at < text.length() && BoundaryScanner.isSpace(text.charAt(at - 1)) == inSpace
+					&& BoundaryScanner.isSpace(text.charAt(at)) == inSpace) {
+				cuts[found++] = at;
+				if (inSpace && found + 1 < cuts.length && random.nextBoolean()) {
+					/* Another cut in the same run */
+					int next = at;
+					while (next + 1 < text.length() && BoundaryScanner.isSpace(text.charAt(next + 1))
+							&& random.nextBoolean()) {
+						next++;
+					}
+					if (next > at) {
+						cuts[found++] = next;
+					}
+				}
+			}
+		}
+		cuts = Arrays.copyOf(cuts, found + 1);
+		cuts[found] = text.length();
+		Arrays.sort(cuts);
+		return distinct(cuts);
+	}
+
+	private static int[] distinct(int[] cuts) {
+		int n = 1;
+		for (int i = 1; i < cuts.length; i++) {
+			if (cuts[i] != cuts[n - 1]) {
+				cuts[n++] = cuts[i];
+			}
+		}
+		return Arrays.copyOf(cuts, n);
+	}
+
+	private void assertSameAsSplit(String text, int... cuts) {
+		SentenceSpans expected = RandomText.split(splitter, text);
+		SentenceSpans actual = ChunkedSplitter.split(splitter, config, text, cuts, pool);
+		assertEquals(RandomText.escape(text) + " cut at " + Arrays.toString(cuts), RandomText.describe(expected),
+				RandomText.describe(actual));
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Checks that a {@link DawgLexicon} answers every lookup as a
+ * {@link HashSet} of its entries would, and as a {@link CompiledLexicon} of
+ * them does, for entries sharing prefixes and suffixes, folded lookups and
+ * characters outside the BMP.
+ */
+public class DawgLexiconTest {
+
+	/** Units entries are built from, including surrogate pairs with and without case */
+	private static final String[] UNITS = { "a", "A", "b", "B", ".", "-", "é", "É", "İ", "ı", "𐐀",
+			"𐐨", "𝑎", "\uD801", "\uDC00" };
+
+	@Test
+	public void matchesASetOfRandomEntries() {
+		Random random = new Random(22);
+		for (int round = 0; round < 50; round++) {
+			List<String> entries = new ArrayList<String>();
+			for (int i = random.nextInt(300); i > 0; i--) {
+				entries.add(word(random, 1 + random.nextInt(6)));
+			}
+			assertEquivalent(entries, random);
+		}
+	}
+
+	@Test
+	public void matchesASetOfEntriesSharingPrefixesAndSuffixes() {
+		Random random = new Random(23);
+		List<String> entries = new ArrayList<String>();
+		String[] prefixes = { "", "pre", "Pre", "un", "𐐀" };
+		String[] stems = { "a", "ab", "abc", "b.", "É" };
+		String[] suffixes = { "", ".", "s.", "ing", "𝑎" };
+		for (String prefix : prefixes) {
+			for (String stem : stems) {
+				for (String suffix : suffixes) {
+					entries.add(prefix + stem + suffix);
+				}
+			}
+		}
+		DawgLexicon dawg = assertEquivalent(entries, random);
+		int characters = 0;
+		for (String entry : new HashSet<String>(entries)) {
+			characters += entry.length();
+		}
+		assertTrue(dawg.arcs() + " arcs", dawg.arcs() < characters / 4);
+	}
+
+	@Test
+	public void neverContainsTheEmptyString() {
+		DawgLexicon dawg = new DawgLexicon(Arrays.asList("", "a", "a"));
+		assertEquals(1, dawg.size());
+		assertFalse(dawg.contains("", 0, 0));
+		assertFalse(dawg.containsFolded("", 0, 0));
+		assertFalse(dawg.contains("ab", 1, 1));
+		assertFalse(new DawgLexicon(new ArrayList<String>()).contains("", 0, 0));
+		assertFalse(new DawgLexicon(new ArrayList<String>()).containsFolded("a", 0, 1));
+	}
+
+	@Test
+	public void foldsCaseOfTheLookupOnly() {
+		DawgLexicon dawg = new DawgLexicon(Arrays.asList("dr.", "Mr.", "𐐨x", "é"));
+		assertTrue(dawg.containsFolded("DR.", 0, 3));
+		assertFalse(dawg.contains("DR.", 0, 3));
+		assertFalse(dawg.containsFolded("mr.", 0, 3));
+		assertTrue(dawg.containsFolded("Mr.", 0, 3));
+		assertTrue(dawg.containsFolded("𐐀X", 0, 3));
+		assertTrue(dawg.containsFolded("É", 0, 1));
+		/* Half of a surrogate pair is not folded */
+		assertFalse(dawg.containsFolded("𐐀X", 1, 3));
+	}
+
+	private static DawgLexicon assertEquivalent(List<String> entries, Random random) {
+		Set<String> set = new HashSet<String>(entries);
+		set.remove("");
+		DawgLexicon dawg = new DawgLexicon(entries);
+		CompiledLexicon compiled = new CompiledLexicon(set);
+		assertEquals(set.size(), dawg.size());
+		List<String> probes = new ArrayList<String>();
+		probes.add("");
+		for (String entry : set) {
+			probes.add(entry);
+			probes.add(entry.toUpperCase());
+			probes.add(entry.toLowerCase());
+			probes.add(entry.substring(0, entry.length() - 1));
+			probes.add(entry + word(random, 1));
+		}
+		for (int i = 0; i < 500; i++) {
+			probes.add(word(random, random.nextInt(7)));
+		}
+		for (String probe : probes) {
+			/* Look the probe up in the middle of a longer text, too */
+			String before = word(random, 2);
+			String text = before + probe + word(random, 1);
+			int start = before.length();
+			for (int[] range : new int[][] { { 0, probe.length() }, { start, start + probe.length() } }) {
+				String source = range[0] == 0 ? probe : text;
+				boolean contains = set.contains(probe);
+				boolean folded = contains || set.contains(CompiledLexicon.lowerCase(probe));
+				String message = RandomText.escape(probe);
+				assertEquals(message, contains, dawg.contains(source, range[0], range[1]));
+				assertEquals(message, folded, dawg.containsFolded(source, range[0], range[1]));
+				assertEquals(message, folded, compiled.containsFolded(source, range[0], range[1]));
+			}
+		}
+		return dawg;
+	}
+
+	private static String word(Random random, int units) {
+		StringBuilder word = new StringBuilder();
+		for (int i = 0; i < units; i++) {
+			word.append(UNITS[random.nextInt(UNITS.length)]);
+		}
+		return word.toString();
+	}
+}
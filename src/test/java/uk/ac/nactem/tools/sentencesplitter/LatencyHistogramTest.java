@@ -0,0 +1,110 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks that every duration falls in a slot less than an eighth wide, and
+ * that percentiles are bounded by the slot of the exact value.
+ */
+public class LatencyHistogramTest {
+
+	@Test
+	public void slotsCoverEveryValue() {
+		Random random = new Random(26);
+		for (int i = 0; i < 100000; i++) {
+			long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+			int slot = LatencyHistogram.slot(value);
+			assertTrue(value + " above slot " + slot, value <= LatencyHistogram.upperBound(slot));
+			assertTrue(value + " below slot " + slot, slot == 0 || value > LatencyHistogram.upperBound(slot - 1));
+		}
+		assertEquals(0, LatencyHistogram.slot(0));
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.slot(Long.MAX_VALUE)));
+	}
+
+	@Test
+	public void slotsWithinAnEighth() {
+		for (int slot = 8; slot < LatencyHistogram.slot(Long.MAX_VALUE); slot++) {
+			long lower = LatencyHistogram.upperBound(slot - 1) + 1;
+			long upper = LatencyHistogram.upperBound(slot);
+			assertTrue("slot " + slot, upper - lower < lower / 8 + 1);
+		}
+	}
+
+	@Test
+	public void percentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.percentile(0.5));
+		long[] values = new long[10000];
+		Random random = new Random(27);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = 1000 + random.nextInt(1000000);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		assertEquals(values.length, histogram.count());
+		assertEquals(values[values.length - 1], histogram.max());
+		for (double fraction : new double[] { 0.01, 0.5, 0.9, 0.99, 1 }) {
+			long exact = values[(int) Math.ceil(fraction * values.length) - 1];
+			long estimate = histogram.percentile(fraction);
+			assertTrue(fraction + ": " + estimate + " for " + exact, estimate >= exact && estimate <= exact * 9 / 8);
+		}
+		histogram.reset();
+		assertEquals(0, histogram.count());
+		assertEquals(0, histogram.max());
+	}
+
+	@Test
+	public void negativeDurationsCountAsZero() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-5);
+		assertEquals(1, histogram.count());
+		assertEquals(0, histogram.percentile(1));
+	}
+
+	@Test
+	public void concurrentRecording() throws InterruptedException {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final int offset = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 100000; i++) {
+						histogram.record(i + offset);
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(400000, histogram.count());
+		assertEquals(99999 + 3, histogram.max());
+	}
+}
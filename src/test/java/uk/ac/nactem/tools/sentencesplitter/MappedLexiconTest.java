@@ -0,0 +1,140 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that a lexicon written to a file is read back with the same
+ * entries, and that writing it over an existing file keeps that file's
+ * permissions.
+ */
+public class MappedLexiconTest {
+
+	private Path directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("lexicon");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		File[] files = directory.toFile().listFiles();
+		for (File file : files) {
+			file.delete();
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	public void readsBackWhatWasWritten() throws IOException {
+		List<String> entries = entries(new Random(20), 5000);
+		Path file = directory.resolve("abbreviations.lex");
+		MappedLexicon.write(entries, file);
+		assertSameAs(new CompiledLexicon(entries), MappedLexicon.open(file), entries);
+	}
+
+	@Test
+	public void overwritesAnExistingFile() throws IOException {
+		Random random = new Random(21);
+		List<String> before = entries(random, 1000);
+		List<String> after = entries(random, 2000);
+		Path file = directory.resolve("abbreviations.lex");
+		MappedLexicon.write(before, file);
+		MappedLexicon old = MappedLexicon.open(file);
+		MappedLexicon.write(after, file);
+		assertSameAs(new CompiledLexicon(after), MappedLexicon.open(file), before);
+		assertSameAs(new CompiledLexicon(after), MappedLexicon.open(file), after);
+		/* A mapping of the replaced file still reads it */
+		assertSameAs(new CompiledLexicon(before), old, before);
+		assertEquals(1, directory.toFile().listFiles().length);
+	}
+
+	@Test
+	public void keepsThePermissionsOfAReplacedFile() throws IOException {
+		if (Files.getFileAttributeView(directory, PosixFileAttributeView.class) == null) {
+			return;
+		}
+		Path file = directory.resolve("abbreviations.lex");
+		MappedLexicon.write(Arrays.asList("Dr."), file);
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+		Files.setPosixFilePermissions(file, permissions);
+		MappedLexicon.write(Arrays.asList("Dr.", "Mr."), file);
+		assertEquals(permissions, Files.getPosixFilePermissions(file));
+		assertEquals(2, MappedLexicon.open(file).size());
+	}
+
+	@Test
+	public void givesNewFilesTheDefaultPermissions() throws IOException {
+		if (Files.getFileAttributeView(directory, PosixFileAttributeView.class) == null) {
+			return;
+		}
+		Path plain = Files.createFile(directory.resolve("plain"));
+		Path file = directory.resolve("abbreviations.lex");
+		MappedLexicon.write(Arrays.asList("Dr."), file);
+		assertEquals(Files.getPosixFilePermissions(plain), Files.getPosixFilePermissions(file));
+	}
+
+	private static void assertSameAs(Lexicon expected, Lexicon actual, List<String> probes) {
+		assertEquals(expected.size(), actual.size());
+		for (String probe : probes) {
+			for (String text : Arrays.asList(probe, probe.toUpperCase(), probe.toLowerCase(), "x" + probe)) {
+				assertEquals(text, expected.contains(text, 0, text.length()), actual.contains(text, 0, text.length()));
+				assertEquals(text, expected.containsFolded(text, 0, text.length()),
+						actual.containsFolded(text, 0, text.length()));
+			}
+			String padded = " " + probe + " ";
+			assertEquals(probe, expected.containsFolded(padded, 1, probe.length() + 1),
+					actual.containsFolded(padded, 1, probe.length() + 1));
+		}
+		assertFalse(actual.contains("", 0, 0));
+	}
+
+	private static List<String> entries(Random random, int n) {
+		String characters = "abcXYZ.-éİ";
+		List<String> entries = new ArrayList<String>();
+		for (int i = 0; i < n; i++) {
+			StringBuilder entry = new StringBuilder();
+			for (int length = 1 + random.nextInt(8); length > 0; length--) {
+				entry.append(characters.charAt(random.nextInt(characters.length())));
+			}
+			entries.add(entry.toString());
+		}
+		return entries;
+	}
+}
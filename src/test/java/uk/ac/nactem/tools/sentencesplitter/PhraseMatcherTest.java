@@ -0,0 +1,212 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that protected phrases keep together the sentences they span or
+ * end, ignoring case and the whitespace between their tokens, and that the
+ * Reader and chunked scans agree with a single scan where a phrase crosses a
+ * compaction or a seam. Random texts are checked against a plain search for
+ * the phrases among the tokens.
+ */
+public class PhraseMatcherTest {
+
+	private static final List<String> PHRASES = Arrays.asList("et al.", "U. S. A.", "dr. mr.", "fig. A.",
+			"u.s.a. the", "no! why?", "A. b. K.", "single.");
+
+	private static final SplitterConfig CONFIG = SplitterConfig.builder().addPhrases(PHRASES).build();
+
+	private static ForkJoinPool pool;
+
+	private final EnglishSentenceSplitter plain = new EnglishSentenceSplitter(SplitterConfig.builder().build());
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter(CONFIG);
+
+	@BeforeClass
+	public static void startPool() {
+		pool = new ForkJoinPool(2);
+	}
+
+	@AfterClass
+	public static void stopPool() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void keepsTheSeamsInsideAPhrase() {
+		assertSentences(plain, "He moved to the U. S. A. in May.", "He moved to the U.", "S.", "A. in May.");
+		assertSentences(splitter, "He moved to the U. S. A. in May.", "He moved to the U. S. A. in May.");
+	}
+
+	@Test
+	public void keepsTheBoundaryAfterAPhrase() {
+		assertSentences(plain, "Smith et al. Found it here. Then left.", "Smith et al.", "Found it here.",
+				"Then left.");
+		assertSentences(splitter, "Smith et al. Found it here. Then left.", "Smith et al. Found it here.",
+				"Then left.");
+		assertSentences(splitter, "See the U. S. A. The end.", "See the U. S. A. The end.");
+	}
+
+	@Test
+	public void ignoresCaseAndWhitespace() {
+		assertSentences(splitter, "Smith ET AL. Found it.", "Smith ET AL. Found it.");
+		assertSentences(splitter, "Smith Et\n\t al. Found it.", "Smith Et\n\t al. Found it.");
+		assertSentences(splitter, "In the u. s. a. We met.", "In the u. s. a. We met.");
+	}
+
+	@Test
+	public void matchesWholeTokensOnly() {
+		assertSentences(splitter, "Smith wet al. Found it.", "Smith wet al.", "Found it.");
+		assertSentences(splitter, "Smith et al.) Found it.", "Smith et al.)", "Found it.");
+		assertSentences(splitter, "In the U. S. AA. We met.", "In the U.", "S.", "AA.", "We met.");
+		/* A phrase of one token is ignored */
+		assertSentences(splitter, "A single. Phrase.", "A single.", "Phrase.");
+		assertEquals(PHRASES.size() - 1, CONFIG.phrases().size());
+	}
+
+	@Test
+	public void readerAgreesAcrossCompactions() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			text.append("Word ").append(i).append(" by Smith et\n al. Then U.  S.\tA. And more.\n\n");
+		}
+		for (int bufferSize = 1; bufferSize <= 64; bufferSize++) {
+			assertEquals("buffer of " + bufferSize, boundaries(RandomText.split(splitter, text)),
+					readerBoundaries(text.toString(), bufferSize));
+		}
+	}
+
+	@Test
+	public void chunksAgreeAcrossSeams() {
+		String text = "Smith et al. Found it. Then the U. S. A. Left. Fig. A. Shows it.";
+		List<Integer> expected = boundaries(RandomText.split(splitter, text));
+		for (int cut = 1; cut < text.length(); cut++) {
+			for (int second = cut + 1; second < text.length(); second += 7) {
+				int[] cuts = { 0, cut, second, text.length() };
+				assertEquals(Arrays.toString(cuts), expected,
+						boundaries(ChunkedSplitter.split(splitter, CONFIG, text, cuts, pool)));
+			}
+		}
+	}
+
+	@Test
+	public void randomTextsMatchAPlainSearch() throws IOException {
+		RandomText texts = new RandomText(21);
+		Random random = texts.random();
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(60);
+			List<Integer> expected = unprotected(text);
+			assertEquals(RandomText.escape(text), expected, boundaries(RandomText.split(splitter, text)));
+			assertEquals(RandomText.escape(text), expected, readerBoundaries(text, 1 + random.nextInt(32)));
+			if (text.length() > 1) {
+				int cut = 1 + random.nextInt(text.length() - 1);
+				int[] cuts = { 0, cut, text.length() };
+				assertEquals(RandomText.escape(text) + " cut at " + cut, expected,
+						boundaries(ChunkedSplitter.split(splitter, CONFIG, text, cuts, pool)));
+			}
+		}
+	}
+
+	/**
+	 * The boundaries of {@code text} without phrases, less those inside or
+	 * at the end of a phrase
+	 */
+	private List<Integer> unprotected(String text) {
+		List<int[]> tokens = new ArrayList<int[]>();
+		for (int i = 0; i < text.length();) {
+			if (BoundaryScanner.isSpace(text.charAt(i))) {
+				i++;
+				continue;
+			}
+			int begin = i;
+			while (i < text.length() && !BoundaryScanner.isSpace(text.charAt(i))) {
+				i++;
+			}
+			tokens.add(new int[] { begin, i });
+		}
+		List<Integer> result = boundaries(RandomText.split(plain, text));
+		for (String phrase : PHRASES) {
+			String[] words = phrase.split(" ");
+			if (words.length < 2) {
+				continue;
+			}
+			for (int first = 0; first + words.length <= tokens.size(); first++) {
+				boolean match = true;
+				for (int k = 0; k < words.length && match; k++) {
+					int[] token = tokens.get(first + k);
+					match = CompiledLexicon.lowerCase(text.substring(token[0], token[1]))
+							.equals(CompiledLexicon.lowerCase(words[k]));
+				}
+				for (int k = 0; k < words.length && match; k++) {
+					result.remove(Integer.valueOf(tokens.get(first + k)[1]));
+				}
+			}
+		}
+		return result;
+	}
+
+	/** The ends of all sentences but the last, which end at a boundary */
+	private static List<Integer> boundaries(SentenceSpans spans) {
+		List<Integer> result = new ArrayList<Integer>();
+		for (int i = 0; i + 1 < spans.size(); i++) {
+			result.add(spans.end(i));
+		}
+		return result;
+	}
+
+	private List<Integer> readerBoundaries(String text, int bufferSize) throws IOException {
+		List<Integer> result = new ArrayList<Integer>();
+		SentenceReader reader = new SentenceReader(splitter, new StringReader(text), bufferSize);
+		try {
+			Sentence sentence;
+			while ((sentence = reader.read()) != null) {
+				result.add((int) sentence.end());
+			}
+		} finally {
+			reader.close();
+		}
+		if (!result.isEmpty()) {
+			result.remove(result.size() - 1);
+		}
+		return result;
+	}
+
+	private static void assertSentences(EnglishSentenceSplitter splitter, String text, String... expected) {
+		SentenceSpans spans = RandomText.split(splitter, text);
+		List<String> actual = new ArrayList<String>();
+		for (int i = 0; i < spans.size(); i++) {
+			actual.add(text.substring(spans.begin(i), spans.end(i)));
+		}
+		assertEquals(Arrays.asList(expected), actual);
+	}
+}
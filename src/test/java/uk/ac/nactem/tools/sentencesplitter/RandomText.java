@@ -0,0 +1,96 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import java.util.Random;
+
+/**
+ * Random texts built from pieces that exercise every rule of the splitter:
+ * abbreviations in either case, lower-case terms, eWords, right bracketing,
+ * every kind of whitespace and line break, and characters outside ASCII.
+ */
+final class RandomText {
+
+	private static final String[] PIECES = { "Dr.", "Mr.", "fig.", "Fig.", "et", "al.", "Hello", "world", "mRNA",
+			"eScience", "iPhone", "x", "ii", "CO.", "PLC.", "Plc.", "(Fig.", "\"Yes.\"", "a-b.", "why?", "No!", "end.)",
+			"ok.'", "A.", "b.", "U.S.A.", "e.g.", "etc.", "été.", "über", "𝑎", "...", " ", "  ",
+			"\n", "\n\n", "\r\n", "\r\n\r\n", "\t", "\u0001", "\u000B", ".", "!", "?", "'", ")", "(", "-", ":", "x.",
+			"The", "the", "K.", "İ." };
+
+	private static final String CHARACTERS = " .!?\"')]}>-(\n\tabcXYZ";
+
+	private final Random random;
+
+	RandomText(long seed) {
+		random = new Random(seed);
+	}
+
+	Random random() {
+		return random;
+	}
+
+	/** A text of up to {@code pieces} pieces */
+	String next(int pieces) {
+		StringBuilder text = new StringBuilder();
+		int n = random.nextInt(pieces + 1);
+		for (int k = 0; k < n; k++) {
+			if (random.nextInt(4) == 0) {
+				text.append(random.nextInt(3) == 0 ? (char) random.nextInt(0x80)
+						: CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+			} else {
+				text.append(PIECES[random.nextInt(PIECES.length)]);
+				if (random.nextInt(3) > 0) {
+					text.append(' ');
+				}
+			}
+		}
+		return text.toString();
+	}
+
+	/** Sentences of {@code text} as found by a single scan */
+	static SentenceSpans split(EnglishSentenceSplitter splitter, CharSequence text) {
+		SentenceSpans spans = new SentenceSpans();
+		splitter.split(text, spans);
+		return spans;
+	}
+
+	/** Describes sentences as paragraph, index, begin and end of each */
+	static String describe(SentenceSpans spans) {
+		StringBuilder b = new StringBuilder();
+		for (int i = 0; i < spans.size(); i++) {
+			b.append('[').append(spans.paragraph(i)).append(' ').append(spans.index(i)).append(' ')
+					.append(spans.begin(i)).append(' ').append(spans.end(i)).append(']');
+		}
+		return b.toString();
+	}
+
+	/** Describes a text in ASCII, for assertion messages */
+	static String escape(CharSequence text) {
+		StringBuilder b = new StringBuilder();
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < ' ' || c > '~') {
+				b.append(String.format("\\u%04x", (int) c));
+			} else {
+				b.append(c);
+			}
+		}
+		return b.toString();
+	}
+}
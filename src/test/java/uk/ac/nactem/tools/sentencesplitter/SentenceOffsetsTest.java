@@ -0,0 +1,146 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.CharBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks that every kind of input region gives the sentences of the same
+ * text passed as a string, with offsets relative to the region.
+ */
+public class SentenceOffsetsTest {
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	@Test
+	public void charSequences() throws Exception {
+		RandomText texts = new RandomText(8);
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(30);
+			String expected = describe(splitter.markupRawText(text));
+			assertEquals(RandomText.escape(text), expected, describe(splitter.sentenceOffsets(text)));
+			assertEquals(RandomText.escape(text), expected,
+					describe(splitter.sentenceOffsets(new StringBuilder(text))));
+			assertEquals(RandomText.escape(text), expected,
+					describe(splitter.sentenceOffsets(CharBuffer.wrap(text))));
+		}
+	}
+
+	@Test
+	public void charArrayRegions() throws Exception {
+		RandomText texts = new RandomText(9);
+		for (int i = 0; i < 5000; i++) {
+			String before = texts.next(5);
+			String text = texts.next(30);
+			String after = texts.next(5);
+			char[] buf = (before + text + after).toCharArray();
+			assertEquals(RandomText.escape(before + "|" + text + "|" + after),
+					describe(splitter.markupRawText(text)),
+					describe(splitter.sentenceOffsets(buf, before.length(), text.length())));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void regionPastTheEnd() {
+		splitter.sentenceOffsets(new char[10], 4, 7);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void negativeOffset() {
+		splitter.sentenceOffsets(new char[10], -1, 2);
+	}
+
+	/**
+	 * A scan starting at the end of a sentence finds the rest of the
+	 * sentences of a scan of the whole text.
+	 */
+	@Test
+	public void scanFromASentenceEnd() {
+		RandomText texts = new RandomText(10);
+		BoundaryScanner scanner = new BoundaryScanner(SplitterConfig.defaults());
+		for (int i = 0; i < 2000; i++) {
+			String text = texts.next(30);
+			SentenceSpans whole = RandomText.split(splitter, text);
+			for (int k = 0; k < whole.size(); k++) {
+				StringBuilder expected = new StringBuilder();
+				for (int j = k + 1; j < whole.size(); j++) {
+					expected.append(whole.begin(j)).append('-').append(whole.end(j)).append(' ');
+				}
+				StringBuilder actual = new StringBuilder();
+				scanner.reset(text, whole.end(k), text.length(), text.length());
+				try {
+					while (scanner.next()) {
+						actual.append(scanner.begin()).append('-').append(scanner.end()).append(' ');
+					}
+				} finally {
+					scanner.release();
+				}
+				assertEquals(RandomText.escape(text) + " from " + whole.end(k), expected.toString(),
+						actual.toString());
+			}
+		}
+	}
+
+	/**
+	 * Regions that meet in whitespace, each reading on past its limit for
+	 * the token that decides its last candidate, find the split points of a
+	 * scan of the whole text between them.
+	 */
+	@Test
+	public void regionsReadingPastTheirLimit() {
+		RandomText texts = new RandomText(11);
+		BoundaryScanner scanner = new BoundaryScanner(SplitterConfig.defaults());
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(30);
+			String whole = boundaries(scanner, text, 0, text.length());
+			for (int at = 1; at < text.length(); at++) {
+				if (BoundaryScanner.isSpace(text.charAt(at - 1)) && BoundaryScanner.isSpace(text.charAt(at))) {
+					assertEquals(RandomText.escape(text) + " cut at " + at, whole,
+							boundaries(scanner, text, 0, at) + boundaries(scanner, text, at, text.length()));
+				}
+			}
+		}
+	}
+
+	private static String boundaries(BoundaryScanner scanner, String text, int start, int limit) {
+		StringBuilder b = new StringBuilder();
+		scanner.reset(text, start, limit, text.length());
+		try {
+			while (scanner.nextBoundary()) {
+				b.append(scanner.boundary()).append(scanner.trimmed() ? "t " : " ");
+			}
+		} finally {
+			scanner.release();
+		}
+		return b.toString();
+	}
+
+	private static String describe(List<int[]> sentences) {
+		SentenceSpans spans = new SentenceSpans();
+		for (int[] s : sentences) {
+			spans.onSentence(s[0], s[1], s[2], s[3]);
+		}
+		return RandomText.describe(spans);
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks that reading sentences incrementally gives the sentences of a
+ * single scan over the whole text, whatever the buffer size and however
+ * little each read returns.
+ */
+public class SentenceReaderTest {
+
+	private static final int[] BUFFER_SIZES = { 1, 2, 3, 7, 16, 8192 };
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	@Test
+	public void examples() throws IOException {
+		String text = "Dr. Smith went to Washington.\n\nHe arrived on Jan. 3rd!  Then he left.\r\n\r\nThe end.  ";
+		for (int bufferSize : BUFFER_SIZES) {
+			assertSameAsSplit(text, new StringReader(text), bufferSize);
+		}
+		assertSameAsSplit("", new StringReader(""), 1);
+		assertSameAsSplit(" \n ", new StringReader(" \n "), 1);
+	}
+
+	@Test
+	public void randomTexts() throws IOException {
+		RandomText texts = new RandomText(6);
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(40);
+			for (int bufferSize : BUFFER_SIZES) {
+				assertSameAsSplit(text, new StringReader(text), bufferSize);
+			}
+		}
+	}
+
+	@Test
+	public void shortReads() throws IOException {
+		RandomText texts = new RandomText(7);
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(40);
+			for (int bufferSize : BUFFER_SIZES) {
+				assertSameAsSplit(text, new ShortReader(text, texts.random()), bufferSize);
+			}
+		}
+	}
+
+	@Test
+	public void longSentence() throws IOException {
+		StringBuilder text = new StringBuilder("Start.  ");
+		for (int i = 0; i < 10000; i++) {
+			text.append("word e.g. ");
+		}
+		text.append("end.\n\nNext one.");
+		assertSameAsSplit(text.toString(), new StringReader(text.toString()), 16);
+	}
+
+	private void assertSameAsSplit(String text, Reader in, int bufferSize) throws IOException {
+		SentenceSpans spans = RandomText.split(splitter, text);
+		List<Sentence> expected = new ArrayList<Sentence>();
+		for (int i = 0; i < spans.size(); i++) {
+			expected.add(new Sentence(spans.begin(i), spans.end(i), text.substring(spans.begin(i), spans.end(i))));
+		}
+		List<Sentence> actual = new ArrayList<Sentence>();
+		SentenceReader reader = new SentenceReader(splitter, in, bufferSize);
+		try {
+			Sentence sentence;
+			while ((sentence = reader.read()) != null) {
+				actual.add(sentence);
+			}
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+		assertEquals(RandomText.escape(text) + " with a buffer of " + bufferSize, expected, actual);
+	}
+
+	/** Returns at most a few characters from each read */
+	private static final class ShortReader extends Reader {
+
+		private final String text;
+
+		private final Random random;
+
+		private int at;
+
+		ShortReader(String text, Random random) {
+			this.text = text;
+			this.random = random;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) {
+			if (at == text.length()) {
+				return -1;
+			}
+			int n = Math.min(Math.min(len, 1 + random.nextInt(3)), text.length() - at);
+			text.getChars(at, at + n, cbuf, off);
+			at += n;
+			return n;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks that spans grow, can be cleared and refilled for the next document,
+ * and are seen through a live read-only list.
+ */
+public class SentenceSpansTest {
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	@Test
+	public void growsFromTheSmallestCapacity() {
+		SentenceSpans spans = new SentenceSpans(0);
+		for (int i = 0; i < 100; i++) {
+			spans.onSentence(i / 10, i, 2 * i, 2 * i + 1);
+		}
+		assertEquals(100, spans.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i / 10, spans.paragraph(i));
+			assertEquals(i, spans.index(i));
+			assertEquals(2 * i, spans.begin(i));
+			assertEquals(2 * i + 1, spans.end(i));
+		}
+	}
+
+	@Test
+	public void reusedAfterClear() {
+		RandomText texts = new RandomText(12);
+		SentenceSpans reused = new SentenceSpans(1);
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(30);
+			reused.clear();
+			int sentences = splitter.split(text, reused);
+			assertEquals(RandomText.escape(text), sentences, reused.size());
+			assertEquals(RandomText.escape(text), RandomText.describe(RandomText.split(splitter, text)),
+					RandomText.describe(reused));
+		}
+	}
+
+	@Test
+	public void listViewIsLive() {
+		SentenceSpans spans = new SentenceSpans();
+		List<int[]> list = spans.asList();
+		spans.onSentence(0, 0, 0, 4);
+		spans.onSentence(1, 1, 6, 9);
+		assertEquals(2, list.size());
+		assertEquals(Arrays.toString(new int[] { 1, 1, 6, 9 }), Arrays.toString(list.get(1)));
+		list.get(0)[2] = 42;
+		assertEquals(0, spans.begin(0));
+		spans.clear();
+		assertEquals(0, list.size());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void clearedSpansAreOutOfRange() {
+		SentenceSpans spans = new SentenceSpans();
+		spans.onSentence(0, 0, 0, 4);
+		spans.clear();
+		spans.begin(0);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void listViewIsReadOnly() {
+		new SentenceSpans().asList().add(new int[4]);
+	}
+}
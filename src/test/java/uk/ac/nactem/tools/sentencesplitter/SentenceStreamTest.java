@@ -0,0 +1,126 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Checks that streams of sentences, however their spliterators are split,
+ * give the sentences of a single scan.
+ */
+public class SentenceStreamTest {
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	@Test
+	public void sequentialStreams() {
+		RandomText texts = new RandomText(13);
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(30);
+			assertEquals(RandomText.escape(text), expected(text),
+					splitter.sentences(text).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void parallelStreams() {
+		RandomText texts = new RandomText(14);
+		for (int i = 0; i < 20; i++) {
+			String text = longText(texts);
+			assertEquals(expected(text), splitter.sentences(text).parallel().collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void everySplitFindsTheSentencesOfOneScan() {
+		RandomText texts = new RandomText(15);
+		for (int i = 0; i < 20; i++) {
+			String text = longText(texts);
+			List<Spliterator<Sentence>> parts = new ArrayList<Spliterator<Sentence>>();
+			splitFully(splitter.sentences(text).spliterator(), parts);
+			assertTrue(parts.size() > 1);
+			final List<Sentence> actual = new ArrayList<Sentence>();
+			for (Spliterator<Sentence> part : parts) {
+				part.forEachRemaining(new Consumer<Sentence>() {
+					public void accept(Sentence sentence) {
+						actual.add(sentence);
+					}
+				});
+			}
+			assertEquals(expected(text), actual);
+		}
+	}
+
+	@Test
+	public void noSplitOnceStarted() {
+		RandomText texts = new RandomText(16);
+		Spliterator<Sentence> spliterator = splitter.sentences(longText(texts)).spliterator();
+		spliterator.tryAdvance(new Consumer<Sentence>() {
+			public void accept(Sentence sentence) {
+			}
+		});
+		assertNull(spliterator.trySplit());
+	}
+
+	@Test
+	public void legacyBackend() throws Exception {
+		EnglishSentenceSplitter legacy = new EnglishSentenceSplitter(EnglishSentenceSplitter.Backend.LEGACY);
+		String text = "Dr. Smith went to Washington.\n\nHe arrived on Jan. 3rd!  Then he left.";
+		assertEquals(expected(text), legacy.sentences(text).collect(Collectors.toList()));
+	}
+
+	/** Prefixes come first, so the parts are left in text order */
+	private static void splitFully(Spliterator<Sentence> spliterator, List<Spliterator<Sentence>> parts) {
+		Spliterator<Sentence> prefix = spliterator.trySplit();
+		if (prefix != null) {
+			splitFully(prefix, parts);
+			splitFully(spliterator, parts);
+		} else {
+			parts.add(spliterator);
+		}
+	}
+
+	/** Long enough to split, with paragraph breaks to split at */
+	private static String longText(RandomText texts) {
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 200000) {
+			text.append(texts.next(40)).append(texts.random().nextBoolean() ? "\n\n" : " ");
+		}
+		return text.toString();
+	}
+
+	private List<Sentence> expected(String text) {
+		SentenceSpans spans = RandomText.split(splitter, text);
+		List<Sentence> sentences = new ArrayList<Sentence>();
+		for (int i = 0; i < spans.size(); i++) {
+			sentences.add(new Sentence(spans.begin(i), spans.end(i), text.substring(spans.begin(i), spans.end(i))));
+		}
+		return sentences;
+	}
+}
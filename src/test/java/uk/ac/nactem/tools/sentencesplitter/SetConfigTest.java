@@ -0,0 +1,167 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Checks that a config swapped into a running splitter is used by splits
+ * that start later, that every split sees exactly one config however the
+ * swaps fall, and that swaps are recorded by the metrics.
+ */
+public class SetConfigTest {
+
+	/** No abbreviations, so "Dr." and "Mr." end sentences */
+	private static final SplitterConfig BARE = SplitterConfig.builder().build();
+
+	private static final SplitterConfig DEFAULTS = SplitterConfig.defaults();
+
+	private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+	private final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+
+	@After
+	public void stopPools() {
+		pool.shutdownNow();
+		forkJoinPool.shutdownNow();
+	}
+
+	@Test
+	public void laterSplitsUseTheNewConfig() {
+		EnglishSentenceSplitter splitter = new EnglishSentenceSplitter(BARE);
+		String text = "Dr. Smith met Mr. Jones. They left.";
+		assertEquals(4, splitter.sentenceOffsets(text).size());
+		splitter.setConfig(DEFAULTS);
+		assertSame(DEFAULTS, splitter.config());
+		assertEquals(2, splitter.sentenceOffsets(text).size());
+		assertEquals(Arrays.asList("Dr. Smith met Mr. Jones.", "They left."), splitter.splitParagraph(text));
+		splitter.setConfig(BARE);
+		assertEquals(4, splitter.sentenceOffsets(text).size());
+	}
+
+	@Test
+	public void everySplitSeesOneConfig() throws Exception {
+		/* Long enough for splitParallel to cut it into chunks */
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 4000; i++) {
+			builder.append("Dr. Smith met Mr. Jones on day ").append(i).append(". ");
+		}
+		final String text = builder.toString();
+		final String bare = RandomText.describe(RandomText.split(new EnglishSentenceSplitter(BARE), text));
+		final String defaults = RandomText.describe(RandomText.split(new EnglishSentenceSplitter(DEFAULTS), text));
+		assertNotEquals(bare, defaults);
+
+		final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter(BARE);
+		final AtomicBoolean swapping = new AtomicBoolean(true);
+		List<Future<int[]>> splits = new ArrayList<Future<int[]>>();
+		for (int t = 0; t < 3; t++) {
+			final int kind = t;
+			splits.add(pool.submit(new Callable<int[]>() {
+				public int[] call() throws Exception {
+					int[] seen = new int[2];
+					do {
+						List<SentenceSpans> results = new ArrayList<SentenceSpans>();
+						if (kind == 0) {
+							results.add(RandomText.split(splitter, text));
+						} else if (kind == 1) {
+							results.add(splitter.splitParallel(text, forkJoinPool));
+						} else {
+							results.addAll(splitter.splitAll(Arrays.asList(text, text, text), pool, 2));
+						}
+						for (SentenceSpans spans : results) {
+							String described = RandomText.describe(spans);
+							if (described.equals(bare)) {
+								seen[0]++;
+							} else if (described.equals(defaults)) {
+								seen[1]++;
+							} else {
+								fail("A split of " + spans.size() + " sentences mixed two configs");
+							}
+						}
+					} while (swapping.get());
+					return seen;
+				}
+			}));
+		}
+
+		SplitterMetrics metrics = new SplitterMetrics();
+		splitter.setMetrics(metrics);
+		int swaps = 0;
+		long deadline = System.nanoTime() + 500000000L;
+		while (System.nanoTime() < deadline || swaps < 1000) {
+			splitter.setConfig(swaps % 2 == 0 ? DEFAULTS : BARE);
+			swaps++;
+			Thread.yield();
+		}
+		swapping.set(false);
+		int[] seen = new int[2];
+		for (Future<int[]> split : splits) {
+			int[] counts = split.get();
+			seen[0] += counts[0];
+			seen[1] += counts[1];
+		}
+		assertTrue(Arrays.toString(seen), seen[0] > 0 && seen[1] > 0);
+		assertEquals(swaps, metrics.getConfigSwaps());
+		SplitterConfig last = splitter.config();
+		assertEquals(last.abbreviations().size(), metrics.getSwappedAbbreviations());
+		assertEquals(last.lowerCaseTerms().size(), metrics.getSwappedLowerCaseTerms());
+		assertTrue(metrics.getLastConfigSwapMillis() > 0);
+		assertEquals(RandomText.describe(RandomText.split(new EnglishSentenceSplitter(last), text)),
+				RandomText.describe(RandomText.split(splitter, text)));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void rejectsNull() {
+		new EnglishSentenceSplitter().setConfig(null);
+	}
+
+	@Test
+	public void legacyRejectsPhrasesAndKeepsItsConfig() {
+		EnglishSentenceSplitter splitter = new EnglishSentenceSplitter(EnglishSentenceSplitter.Backend.LEGACY);
+		SplitterConfig before = splitter.config();
+		SplitterMetrics metrics = new SplitterMetrics();
+		splitter.setMetrics(metrics);
+		try {
+			splitter.setConfig(SplitterConfig.builder().addPhrases(Arrays.asList("et al.")).build());
+			fail("The legacy backend took protected phrases");
+		} catch (IllegalArgumentException e) {
+			/* Expected */
+		}
+		assertSame(before, splitter.config());
+		assertEquals(0, metrics.getConfigSwaps());
+		assertEquals(-1, metrics.getSwappedAbbreviations());
+	}
+}
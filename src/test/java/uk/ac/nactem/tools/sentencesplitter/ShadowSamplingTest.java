@@ -0,0 +1,177 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+/**
+ * Checks that sampled documents are compared with what the fast backend
+ * found when it split them, even if the caller has reused its results by the
+ * time the comparison runs.
+ */
+public class ShadowSamplingTest {
+
+	private static final String TEXT = "Dr. Smith went to Washington. He arrived on Jan. 3rd!\n\n"
+			+ "See Fig. 2 for details. The mRNA levels rose.  Why? Nobody knows. ";
+
+	/** Runs splitAll helpers as they are submitted */
+	private static final Executor CALLER_RUNS = new Executor() {
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	/** Holds comparisons back until they are run by hand */
+	private final SlowExecutor executor = new SlowExecutor();
+
+	private final Listener listener = new Listener();
+
+	private final ShadowSampling shadow = new ShadowSampling(1, executor, listener);
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	{
+		splitter.setShadowSampling(shadow);
+	}
+
+	@Test
+	public void splitAllResultsClearedBeforeComparison() throws Exception {
+		List<SentenceSpans> results = splitter.splitAll(Arrays.asList(TEXT, TEXT + TEXT), CALLER_RUNS, 2);
+		for (SentenceSpans spans : results) {
+			spans.clear();
+		}
+		executor.runAll();
+		assertEquals(2, shadow.compared());
+		assertEquals(0, shadow.mismatched());
+		assertEquals(new ArrayList<String>(), listener.mismatches);
+	}
+
+	@Test
+	public void splitParallelResultsClearedBeforeComparison() {
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 4 * ChunkedSplitter.MIN_CHUNK) {
+			text.append(TEXT);
+		}
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			SentenceSpans spans = splitter.splitParallel(text, pool);
+			spans.clear();
+			spans.onSentence(0, 0, 0, 1);
+		} finally {
+			pool.shutdown();
+		}
+		executor.runAll();
+		assertEquals(1, shadow.compared());
+		assertEquals(0, shadow.mismatched());
+	}
+
+	@Test
+	public void sinkReusedBeforeComparison() {
+		SentenceSpans spans = new SentenceSpans();
+		splitter.split(TEXT, spans);
+		spans.clear();
+		splitter.split("Other text. Entirely.", spans);
+		executor.runAll();
+		assertEquals(2, shadow.compared());
+		assertEquals(0, shadow.mismatched());
+	}
+
+	@Test
+	public void disagreementsAreReported() {
+		EnglishSentenceSplitter protecting = new EnglishSentenceSplitter(
+				SplitterConfig.builder().addDefaults().addPhrases(Arrays.asList("Washington. He")).build());
+		protecting.setShadowSampling(shadow);
+		protecting.splitParagraph(TEXT);
+		executor.runAll();
+		assertEquals(1, shadow.compared());
+		assertEquals(1, shadow.mismatched());
+		assertEquals(1, listener.mismatches.size());
+	}
+
+	@Test
+	public void samplesDroppedWhenTooManyPending() {
+		ShadowSampling small = new ShadowSampling(1, executor, listener, 2);
+		splitter.setShadowSampling(small);
+		for (int i = 0; i < 5; i++) {
+			splitter.splitParagraph(TEXT);
+		}
+		assertEquals(5, small.sampled());
+		assertEquals(3, small.dropped());
+		executor.runAll();
+		assertEquals(2, small.compared());
+	}
+
+	@Test
+	public void samplesDroppedWhenRejected() {
+		ShadowSampling rejecting = new ShadowSampling(1, new Executor() {
+			public void execute(Runnable command) {
+				throw new RejectedExecutionException();
+			}
+		}, listener);
+		splitter.setShadowSampling(rejecting);
+		splitter.splitParagraph(TEXT);
+		assertEquals(1, rejecting.dropped());
+		assertEquals(0, rejecting.compared());
+	}
+
+	@Test
+	public void nothingSampledAtRateZero() {
+		splitter.setShadowSampling(new ShadowSampling(0, executor, listener));
+		splitter.splitParagraph(TEXT);
+		assertEquals(0, executor.queued.size());
+	}
+
+	private static final class SlowExecutor implements Executor {
+
+		final List<Runnable> queued = new ArrayList<Runnable>();
+
+		public synchronized void execute(Runnable command) {
+			queued.add(command);
+		}
+
+		synchronized void runAll() {
+			for (Runnable command : queued) {
+				command.run();
+			}
+			queued.clear();
+		}
+	}
+
+	private static final class Listener implements ShadowListener {
+
+		final List<String> mismatches = new ArrayList<String>();
+
+		public synchronized void onMismatch(String text, List<int[]> legacy, List<int[]> fast) {
+			mismatches.add("legacy=" + legacy.size() + " fast=" + fast.size());
+		}
+
+		public synchronized void onFailure(String text, Throwable failure) {
+			throw new AssertionError(failure);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Checks which documents are reported as slow, and what a report holds.
+ */
+public class SlowDocumentDetectorTest {
+
+	private static final String TEXT = "Dr. Smith met Mr. Jones. Why? He said so.";
+
+	private final List<SlowDocument> reports = Collections.synchronizedList(new ArrayList<SlowDocument>());
+
+	private final SlowDocumentListener listener = new SlowDocumentListener() {
+		public void onSlowDocument(SlowDocument document) {
+			reports.add(document);
+		}
+	};
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	@Test
+	public void reportsDocumentsOverTheThreshold() {
+		SlowDocumentDetector detector = SlowDocumentDetector.perDocument(0, TimeUnit.NANOSECONDS, 10, listener);
+		splitter.setSlowDocumentDetector(detector);
+		splitter.split("doc-1", TEXT, new SentenceSpans());
+		assertEquals(1, detector.reported());
+		SlowDocument report = reports.get(0);
+		assertEquals("doc-1", report.id());
+		assertEquals(TEXT.length(), report.length());
+		assertEquals(TEXT.substring(0, 10), report.sample());
+		assertTrue(report.nanos() > 0);
+		/* The last full stop has no token after it, so is no candidate */
+		assertEquals(4, report.statistics().candidates());
+		assertEquals(2, report.statistics().abbreviations());
+	}
+
+	@Test
+	public void fastDocumentsNotReported() {
+		SlowDocumentDetector detector = SlowDocumentDetector.perDocument(1, TimeUnit.HOURS, listener);
+		splitter.setSlowDocumentDetector(detector);
+		splitter.splitParagraph(TEXT);
+		splitter.split(TEXT, new SentenceSpans());
+		assertEquals(0, detector.reported());
+		assertEquals(0, reports.size());
+	}
+
+	@Test
+	public void perKilocharThreshold() {
+		SlowDocumentDetector detector = SlowDocumentDetector.perKilochar(1, TimeUnit.MILLISECONDS, listener);
+		long milli = TimeUnit.MILLISECONDS.toNanos(1);
+		/* Short documents are allowed as long as 1024 characters */
+		assertFalse(detector.isSlow(10, milli));
+		assertTrue(detector.isSlow(10, milli + 1));
+		assertFalse(detector.isSlow(4096, 4 * milli));
+		assertTrue(detector.isSlow(4096, 4 * milli + 8));
+	}
+
+	@Test
+	public void batchDocumentsNamedByIndex() throws Exception {
+		splitter.setSlowDocumentDetector(SlowDocumentDetector.perDocument(0, TimeUnit.NANOSECONDS, listener));
+		splitter.splitAll(Arrays.asList(TEXT, "Short one.", TEXT + " " + TEXT), new Executor() {
+			public void execute(Runnable command) {
+				command.run();
+			}
+		}, 2);
+		List<String> ids = new ArrayList<String>();
+		for (SlowDocument report : reports) {
+			ids.add(report.id());
+		}
+		Collections.sort(ids);
+		assertEquals(Arrays.asList("0", "1", "2"), ids);
+	}
+
+	@Test
+	public void legacySplitsReportedWithFastStatistics() throws Exception {
+		EnglishSentenceSplitter legacy = new EnglishSentenceSplitter(EnglishSentenceSplitter.Backend.LEGACY);
+		legacy.setSlowDocumentDetector(SlowDocumentDetector.perDocument(0, TimeUnit.NANOSECONDS, listener));
+		legacy.markupRawText(TEXT);
+		assertEquals(1, reports.size());
+		assertEquals(4, reports.get(0).statistics().candidates());
+	}
+
+	@Test
+	public void statisticsUseTheConfigOfTheSplit() {
+		splitter.setConfig(SplitterConfig.builder().addAbbreviations(Arrays.asList("Dr.")).build());
+		splitter.setSlowDocumentDetector(SlowDocumentDetector.perDocument(0, TimeUnit.NANOSECONDS, listener));
+		splitter.splitParagraph(TEXT);
+		assertEquals(1, reports.get(0).statistics().abbreviations());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeThreshold() {
+		SlowDocumentDetector.perDocument(-1, TimeUnit.SECONDS, listener);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void noListener() {
+		SlowDocumentDetector.perDocument(1, TimeUnit.SECONDS, null);
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Checks that batches come back in the order of the documents, that a
+ * failure reaches the caller, and that a batch finishes whatever threads
+ * the executor has to give.
+ */
+public class SplitAllTest {
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+	@After
+	public void stopPool() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void resultsInDocumentOrder() throws Exception {
+		List<String> documents = documents(17, 500);
+		assertSameAsSplit(splitter, documents, splitter.splitAll(documents, pool, 4));
+		assertSameAsSplit(splitter, documents, splitter.splitAll(documents, pool, 1));
+		assertSameAsSplit(splitter, documents, splitter.splitAll(documents, pool, 64));
+	}
+
+	@Test
+	public void emptyBatch() throws Exception {
+		assertEquals(0, splitter.splitAll(new ArrayList<String>(), pool, 4).size());
+	}
+
+	@Test
+	public void legacyBackend() throws Exception {
+		EnglishSentenceSplitter legacy = new EnglishSentenceSplitter(EnglishSentenceSplitter.Backend.LEGACY);
+		List<String> documents = documents(18, 100);
+		assertSameAsSplit(legacy, documents, legacy.splitAll(documents, pool, 4));
+	}
+
+	@Test
+	public void failurePropagates() throws Exception {
+		final RuntimeException broken = new IllegalStateException("broken document");
+		List<CharSequence> documents = new ArrayList<CharSequence>(documents(19, 50));
+		documents.add(25, new CharSequence() {
+			public int length() {
+				return 1000;
+			}
+
+			public char charAt(int index) {
+				throw broken;
+			}
+
+			public CharSequence subSequence(int start, int end) {
+				throw broken;
+			}
+
+			@Override
+			public String toString() {
+				throw broken;
+			}
+		});
+		try {
+			splitter.splitAll(documents, pool, 4);
+			fail("No exception");
+		} catch (IllegalStateException e) {
+			assertSame(broken, e);
+		}
+	}
+
+	/**
+	 * All the threads of the executor are taken by callers of splitAll, so
+	 * none of their helpers ever starts.
+	 */
+	@Test
+	public void calledFromTheExecutorItself() throws Exception {
+		final ExecutorService single = Executors.newSingleThreadExecutor();
+		try {
+			final List<String> documents = documents(20, 200);
+			Future<List<SentenceSpans>> results = single.submit(new Callable<List<SentenceSpans>>() {
+				public List<SentenceSpans> call() throws Exception {
+					return splitter.splitAll(documents, single, 4);
+				}
+			});
+			assertSameAsSplit(splitter, documents, results.get(30, TimeUnit.SECONDS));
+		} finally {
+			single.shutdownNow();
+		}
+	}
+
+	@Test
+	public void rejectedHelpers() throws Exception {
+		List<String> documents = documents(21, 200);
+		assertSameAsSplit(splitter, documents, splitter.splitAll(documents, new Executor() {
+			public void execute(Runnable command) {
+				throw new RejectedExecutionException();
+			}
+		}, 4));
+	}
+
+	@Test
+	public void someHelpersRejected() throws Exception {
+		final AtomicInteger accepted = new AtomicInteger();
+		List<String> documents = documents(22, 200);
+		assertSameAsSplit(splitter, documents, splitter.splitAll(documents, new Executor() {
+			public void execute(Runnable command) {
+				if (accepted.getAndIncrement() > 0) {
+					throw new RejectedExecutionException();
+				}
+				pool.execute(command);
+			}
+		}, 4));
+	}
+
+	@Test
+	public void shutDownExecutor() throws Exception {
+		ExecutorService stopped = Executors.newFixedThreadPool(2);
+		stopped.shutdown();
+		List<String> documents = documents(23, 100);
+		assertSameAsSplit(splitter, documents, splitter.splitAll(documents, stopped, 4));
+	}
+
+	/** Documents of very different lengths, so that they finish out of order */
+	private static List<String> documents(long seed, int n) {
+		RandomText texts = new RandomText(seed);
+		List<String> documents = new ArrayList<String>();
+		for (int i = 0; i < n; i++) {
+			documents.add(texts.next(texts.random().nextInt(10) == 0 ? 2000 : 30));
+		}
+		return documents;
+	}
+
+	private static void assertSameAsSplit(EnglishSentenceSplitter splitter, List<? extends CharSequence> documents,
+			List<SentenceSpans> results) {
+		assertEquals(documents.size(), results.size());
+		for (int i = 0; i < documents.size(); i++) {
+			assertEquals("document " + i, RandomText.describe(RandomText.split(splitter, documents.get(i))),
+					RandomText.describe(results.get(i)));
+		}
+	}
+}
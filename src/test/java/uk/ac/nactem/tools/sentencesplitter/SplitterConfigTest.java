@@ -0,0 +1,150 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks that configs are built from added, loaded and prebuilt lists, and
+ * that the lists they are built from decide how text is split.
+ */
+public class SplitterConfigTest {
+
+	private static final String LIST = "# abbreviations\n  Dr.  \n\n\t# not this one\nvs.\r\nDr.\n";
+
+	private static final String TEXT = "Dr. Smith met Mr. Jones vs. Brown. It rained.";
+
+	@Test
+	public void defaultsMatchTheDefaultSplitter() {
+		SplitterConfig built = SplitterConfig.builder().addDefaults().build();
+		assertEquals(EnglishSentenceSplitter.ABBREVIATIONS.size(), built.abbreviations().size());
+		assertEquals(EnglishSentenceSplitter.LOWERCASETERMS.size(), built.lowerCaseTerms().size());
+		assertEquals(0, built.phrases().size());
+		EnglishSentenceSplitter plain = new EnglishSentenceSplitter();
+		EnglishSentenceSplitter configured = new EnglishSentenceSplitter(built);
+		RandomText texts = new RandomText(19);
+		for (int i = 0; i < 2000; i++) {
+			String text = texts.next(40);
+			assertEquals(RandomText.escape(text), RandomText.describe(RandomText.split(plain, text)),
+					RandomText.describe(RandomText.split(configured, text)));
+		}
+	}
+
+	@Test
+	public void readsTrimmedEntriesSkippingBlankAndCommentLines() throws IOException {
+		List<String> entries = new ArrayList<String>();
+		SplitterConfig.readEntries(new StringReader(LIST), entries);
+		assertEquals(Arrays.asList("Dr.", "vs.", "Dr."), entries);
+	}
+
+	@Test
+	public void loadsFromReaderPathAndUrl() throws IOException {
+		File file = File.createTempFile("abbreviations", ".txt");
+		try {
+			Path path = file.toPath();
+			Files.write(path, LIST.getBytes(StandardCharsets.UTF_8));
+			SplitterConfig fromReader = SplitterConfig.builder().loadAbbreviations(new StringReader(LIST))
+					.loadLowerCaseTerms(new StringReader("mRNA\n")).build();
+			SplitterConfig fromPath = SplitterConfig.builder().loadAbbreviations(path).loadLowerCaseTerms(path)
+					.build();
+			SplitterConfig fromUrl = SplitterConfig.builder().loadAbbreviations(file.toURI().toURL())
+					.loadLowerCaseTerms(file.toURI().toURL()).build();
+			for (SplitterConfig config : Arrays.asList(fromReader, fromPath, fromUrl)) {
+				assertEquals(2, config.abbreviations().size());
+				assertTrue(config.abbreviations().contains("Dr.", 0, 3));
+				assertTrue(config.abbreviations().contains("vs.", 0, 3));
+				assertFalse(config.abbreviations().contains("# abbreviations", 0, 15));
+			}
+			assertEquals(1, fromReader.lowerCaseTerms().size());
+			assertEquals(2, fromPath.lowerCaseTerms().size());
+			assertEquals(2, fromUrl.lowerCaseTerms().size());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void abbreviationsDecideSplits() {
+		SplitterConfig none = SplitterConfig.builder().build();
+		SplitterConfig some = SplitterConfig.builder().addAbbreviations(Arrays.asList("Dr.", "Mr.", "vs.")).build();
+		assertEquals(5, new EnglishSentenceSplitter(none).sentenceOffsets(TEXT).size());
+		assertEquals(2, new EnglishSentenceSplitter(some).sentenceOffsets(TEXT).size());
+		assertEquals(2, new EnglishSentenceSplitter(some, EnglishSentenceSplitter.Backend.LEGACY)
+				.sentenceOffsets(TEXT).size());
+	}
+
+	@Test
+	public void builtConfigsDoNotChangeWithTheBuilder() {
+		SplitterConfig.Builder builder = SplitterConfig.builder().addAbbreviations(Arrays.asList("Dr."));
+		SplitterConfig first = builder.build();
+		builder.addAbbreviations(Arrays.asList("Mr.", "vs."));
+		SplitterConfig second = builder.build();
+		assertEquals(1, first.abbreviations().size());
+		assertEquals(3, second.abbreviations().size());
+		assertEquals(4, new EnglishSentenceSplitter(first).sentenceOffsets(TEXT).size());
+		assertEquals(2, new EnglishSentenceSplitter(second).sentenceOffsets(TEXT).size());
+	}
+
+	@Test
+	public void compactAndPrefilteredConfigsSplitAlike() {
+		EnglishSentenceSplitter plain = new EnglishSentenceSplitter();
+		EnglishSentenceSplitter compact = new EnglishSentenceSplitter(
+				SplitterConfig.builder().addDefaults().compact().build());
+		EnglishSentenceSplitter prefiltered = new EnglishSentenceSplitter(
+				SplitterConfig.builder().addDefaults().compact().prefilter().build());
+		RandomText texts = new RandomText(20);
+		for (int i = 0; i < 2000; i++) {
+			String text = texts.next(40);
+			String expected = RandomText.describe(RandomText.split(plain, text));
+			assertEquals(RandomText.escape(text), expected, RandomText.describe(RandomText.split(compact, text)));
+			assertEquals(RandomText.escape(text), expected,
+					RandomText.describe(RandomText.split(prefiltered, text)));
+		}
+	}
+
+	@Test
+	public void usesPrebuiltLexicons() {
+		Lexicon abbreviations = new CompiledLexicon(Arrays.asList("Dr.", "Mr.", "vs."));
+		SplitterConfig config = SplitterConfig.builder().useAbbreviations(abbreviations)
+				.useLowerCaseTerms(new CompiledLexicon(Collections.<String>emptyList())).build();
+		assertTrue(config.abbreviations() == abbreviations);
+		assertEquals(2, new EnglishSentenceSplitter(config).sentenceOffsets(TEXT).size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsEntriesAndAPrebuiltLexicon() {
+		SplitterConfig.builder().addAbbreviations(Arrays.asList("Dr."))
+				.useAbbreviations(new CompiledLexicon(Arrays.asList("Mr."))).build();
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+/**
+ * Checks what metrics record for each split, which size bucket documents
+ * fall in, and registration with the platform MBean server.
+ */
+public class SplitterMetricsTest {
+
+	private final SplitterMetrics metrics = new SplitterMetrics();
+
+	@Test
+	public void sizeBucketsAreBinary() {
+		assertArrayEquals(new String[] { "<1K", "1K-10K", "10K-100K", "100K-1M", ">=1M" }, metrics.getSizeBuckets());
+		int[] lengths = { 0, 1023, 1024, 10 * 1024 - 1, 10 * 1024, 100 * 1024 - 1, 100 * 1024, 1024 * 1024 - 1,
+				1024 * 1024, Integer.MAX_VALUE };
+		int[] buckets = { 0, 0, 1, 1, 2, 2, 3, 3, 4, 4 };
+		for (int i = 0; i < lengths.length; i++) {
+			assertEquals("length " + lengths[i], buckets[i], SplitterMetrics.bucket(lengths[i]));
+		}
+	}
+
+	@Test
+	public void recordsSplits() throws Exception {
+		EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+		splitter.setMetrics(metrics);
+		splitter.splitParagraph("Dr. Smith went home. He slept.");
+		char[] text = new char[2000];
+		Arrays.fill(text, 'a');
+		splitter.split(text, 0, text.length, new SentenceSpans());
+		assertEquals(2, metrics.getDocuments());
+		assertEquals(30 + 2000, metrics.getCharacters());
+		assertEquals(3, metrics.getSentences());
+		assertArrayEquals(new long[] { 1, 1, 0, 0, 0 }, metrics.getDocumentsBySize());
+		assertTrue(metrics.getLatencyMaxNanos()[0] > 0);
+		assertEquals(0, metrics.getLatencyMaxNanos()[2]);
+
+		splitter.setConfig(SplitterConfig.builder().addAbbreviations(Arrays.asList("Foo.")).build());
+		assertEquals(1, metrics.getConfigSwaps());
+		assertEquals(1, metrics.getSwappedAbbreviations());
+		assertTrue(metrics.getLastConfigSwapMillis() > 0);
+
+		metrics.reset();
+		assertEquals(0, metrics.getDocuments());
+		assertArrayEquals(new long[5], metrics.getDocumentsBySize());
+	}
+
+	@Test
+	public void registersOverJmx() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = metrics.register("test \"one\"");
+		try {
+			assertTrue(server.isRegistered(name));
+			assertEquals(SplitterMetrics.DOMAIN, name.getDomain());
+			metrics.record(100, 3, 5000);
+			assertEquals(1L, server.getAttribute(name, "Documents"));
+			assertEquals(3L, server.getAttribute(name, "Sentences"));
+			try {
+				metrics.register("again");
+				fail("Registered twice");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+		} finally {
+			metrics.unregister();
+		}
+		assertFalse(server.isRegistered(name));
+		metrics.unregister();
+		ObjectName again = metrics.register("test \"one\"");
+		assertEquals(name, again);
+		metrics.unregister();
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/**
+ * Checks that every candidate is counted under exactly one decision, and
+ * that a reader's counts reach the statistics as it goes.
+ */
+public class SplitterStatisticsTest {
+
+	private final EnglishSentenceSplitter splitter = new EnglishSentenceSplitter();
+
+	private final SplitterStatistics statistics = new SplitterStatistics();
+
+	{
+		splitter.setStatistics(statistics);
+	}
+
+	@Test
+	public void examples() {
+		splitter.splitParagraph("Dr. Smith met Mr. Jones. Why? \"Yes.\" He said mRNA. eScience. It was e.g. fine.");
+		assertEquals("candidates=8, lowerCaseTerms=0, rule0=1, rule1=1, eWords=0, rule2=2, abbreviations=2, "
+				+ "defaultSplits=2, phrases=0, prefilterQueries=0, prefilterSkips=0, prefilterFalsePositives=0",
+				statistics.toString());
+		statistics.reset();
+		assertEquals(0, statistics.candidates());
+		assertEquals(0, statistics.abbreviations());
+	}
+
+	@Test
+	public void everyCandidateDecidedOnce() {
+		RandomText texts = new RandomText(24);
+		EnglishSentenceSplitter uncounted = new EnglishSentenceSplitter();
+		for (int i = 0; i < 5000; i++) {
+			String text = texts.next(30);
+			assertEquals(RandomText.escape(text), uncounted.splitParagraph(text), splitter.splitParagraph(text));
+		}
+		assertTrue(statistics.candidates() > 0);
+		assertEquals(statistics.candidates(),
+				statistics.lowerCaseTerms() + statistics.rule0() + statistics.rule1() + statistics.eWords()
+						+ statistics.rule2() + statistics.abbreviations() + statistics.defaultSplits()
+						+ statistics.phrases());
+	}
+
+	@Test
+	public void stopsCounting() {
+		splitter.setStatistics(null);
+		splitter.splitParagraph("Dr. Smith met Mr. Jones. Why?");
+		assertEquals(0, statistics.candidates());
+	}
+
+	/**
+	 * Counts are flushed as the reader compacts its buffer, so they add up
+	 * to those of a single scan whatever the buffer size.
+	 */
+	@Test
+	public void readerCountsAcrossCompactions() throws IOException {
+		RandomText texts = new RandomText(25);
+		for (int i = 0; i < 1000; i++) {
+			String text = texts.next(60);
+			statistics.reset();
+			splitter.split(text, new SentenceSpans());
+			String expected = statistics.toString();
+			for (int bufferSize : new int[] { 1, 4, 16 }) {
+				statistics.reset();
+				SentenceReader reader = new SentenceReader(splitter, new StringReader(text), bufferSize);
+				while (reader.read() != null) {
+				}
+				assertEquals(RandomText.escape(text) + " with a buffer of " + bufferSize, expected,
+						statistics.toString());
+			}
+		}
+	}
+
+	@Test
+	public void readerCountsVisibleBeforeTheEnd() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			text.append("Dr. Smith met Mr. Jones. Why? He said so. ");
+		}
+		SentenceReader reader = new SentenceReader(splitter, new StringReader(text.toString()), 1024);
+		for (int i = 0; i < 20000; i++) {
+			reader.read();
+		}
+		long seen = statistics.candidates();
+		assertTrue("seen " + seen, seen > 0);
+		while (reader.read() != null) {
+		}
+		/* Five candidates a repeat, but the last has no token after it */
+		assertEquals(49999, statistics.candidates());
+		assertTrue(seen < statistics.candidates());
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * Sentence Splitter - Sentence splitter with output compatible with Scott Piao's version
+ * Copyright © 2017 The National Centre for Text Mining (NaCTeM), University of
+							Manchester (jacob.carter@manchester.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.nactem.tools.sentencesplitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the command line is parsed into options, that the usage
+ * errors are reported, among them protected phrases with the legacy
+ * backend, and that documents are written one line per sentence.
+ */
+public class SplitterToolTest {
+
+	private File phrases;
+
+	@Before
+	public void writePhrases() throws IOException {
+		phrases = File.createTempFile("phrases", ".txt");
+		Files.write(phrases.toPath(), "et al.\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void deletePhrases() {
+		phrases.delete();
+	}
+
+	@Test
+	public void parsesOptions() throws Exception {
+		SplitterTool.Options options = SplitterTool.Options.parse(new String[] { "-t", "3", "--format", "jsonl",
+				"-o", "out.jsonl", "--backend", "legacy", "a.txt", "-", "dir" });
+		assertEquals(3, options.threads);
+		assertTrue(options.json);
+		assertEquals("out.jsonl", options.output);
+		assertEquals(EnglishSentenceSplitter.Backend.LEGACY, options.backend);
+		assertEquals(Arrays.asList("a.txt", "-", "dir"), options.names);
+		assertEquals(SplitterConfig.defaults().abbreviations().size(), options.config.abbreviations().size());
+	}
+
+	@Test
+	public void defaultsToStandardInput() throws Exception {
+		SplitterTool.Options options = SplitterTool.Options.parse(new String[] { "--phrases", phrases.getPath() });
+		assertEquals(Arrays.asList("-"), options.names);
+		assertEquals(EnglishSentenceSplitter.Backend.FAST, options.backend);
+		assertEquals(1, options.config.phrases().size());
+	}
+
+	@Test
+	public void rejectsPhrasesWithTheLegacyBackend() throws Exception {
+		String legacy = "The legacy backend does not support --phrases";
+		assertUsage(legacy, "-b", "legacy", "--phrases", phrases.getPath());
+		assertUsage(legacy, "--phrases", phrases.getPath(), "--backend", "LEGACY", "a.txt");
+	}
+
+	@Test
+	public void reportsUsageErrors() throws Exception {
+		assertUsage(null, "--help");
+		assertUsage(null, "a.txt", "-h");
+		assertUsage("Missing value for -t", "-t");
+		assertUsage("Bad thread count: 0", "-t", "0");
+		assertUsage("Bad thread count: many", "--threads", "many");
+		assertUsage("Unknown format: xml", "-f", "xml");
+		assertUsage("Unknown backend: slow", "-b", "slow");
+		assertUsage("Unknown option: --verbose", "--verbose", "yes");
+	}
+
+	@Test
+	public void writesOneLinePerSentence() throws Exception {
+		File document = File.createTempFile("document", ".txt");
+		try {
+			Files.write(document.toPath(), "Dr. Smith left. He came back.".getBytes(StandardCharsets.UTF_8));
+			String name = document.getPath();
+			StringWriter tsv = new StringWriter();
+			new SplitterTool(new EnglishSentenceSplitter(), false).run(Arrays.asList(name), 2, tsv);
+			assertEquals(name + "\t0\t0\t0\t15\n" + name + "\t0\t1\t16\t29\n", tsv.toString());
+			StringWriter json = new StringWriter();
+			SplitterTool tool = new SplitterTool(new EnglishSentenceSplitter(), true);
+			tool.run(Arrays.asList(name, name + ".missing"), 2, json);
+			assertTrue(json.toString(), json.toString().startsWith("{\"doc\":"));
+			assertEquals(2, json.toString().split("\n").length);
+			assertTrue(tool.hasFailures());
+		} finally {
+			document.delete();
+		}
+	}
+
+	private static void assertUsage(String problem, String... argv) throws IOException {
+		try {
+			SplitterTool.Options.parse(argv);
+			fail("Parsed " + Arrays.toString(argv));
+		} catch (SplitterTool.UsageException e) {
+			if (problem == null) {
+				assertNull(e.getMessage());
+			} else {
+				assertEquals(problem, e.getMessage());
+			}
+		}
+	}
+}